@@ -1,8 +1,7 @@
 
 import core.Observable;
 import core.Observer;
-import schedulers.IOThreadScheduler;
-import schedulers.SingleThreadScheduler;
+import schedulers.Schedulers;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -21,9 +20,9 @@ public class Main {
                 // Применяем оператор flatMap: к каждой строке добавляем "!!!" и упаковываем в новый Observable
                 .flatMap(s -> Observable.just(s + "!!!"))
                 // subscribeOn: подписка будет выполнена в IO-потоке
-                .subscribeOn(new IOThreadScheduler())
+                .subscribeOn(Schedulers.io())
                 // observeOn: обработка элементов будет происходить в SingleThreadScheduler (один поток)
-                .observeOn(new SingleThreadScheduler())
+                .observeOn(Schedulers.single())
                 // Подписываемся на поток данных
                 .subscribe(new Observer<String>() {
                     @Override
@@ -45,7 +44,8 @@ public class Main {
                     }
                 });
 
-        // Ожидаем завершения асинхронных операций, чтобы поток main не завершился раньше времени
+        // Потоки Schedulers — daemon, поэтому ожидаем завершения асинхронных операций,
+        // чтобы JVM не завершилась раньше времени
         Thread.sleep(1000);
     }
 }
@@ -0,0 +1,26 @@
+package core;
+
+/**
+ * EmptyDisposable — Disposable без состояния.
+ * Используется там, где отмена подписки не управляет никаким ресурсом,
+ * чтобы не создавать новый объект-заглушку на каждую подписку.
+ */
+public enum EmptyDisposable implements Disposable {
+    INSTANCE;
+
+    /**
+     * Ничего не делает: заглушка не владеет ресурсами.
+     */
+    @Override
+    public void dispose() {
+        // Нечего отменять
+    }
+
+    /**
+     * @return всегда false — заглушка не хранит состояние отмены
+     */
+    @Override
+    public boolean isDisposed() {
+        return false;
+    }
+}
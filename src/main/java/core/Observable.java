@@ -3,6 +3,7 @@ package core;
 import operators.FilterObservable;
 import operators.FlatMapObservable;
 import operators.MapObservable;
+import operators.ScalarMapObservable;
 import schedulers.ObserveOnObservable;
 import schedulers.Scheduler;
 import schedulers.SubscribeOnObservable;
@@ -31,6 +32,18 @@ public abstract class Observable<T> {
         return new ObservableCreate<>(source);
     }
 
+    /**
+     * Создаёт Observable, который эмитирует один элемент и завершает поток.
+     * Такой источник распознаётся операторами map/filter/flatMap и сворачивается при сборке цепочки.
+     *
+     * @param item элемент для эмиссии
+     * @param <T> тип элемента
+     * @return новый Observable
+     */
+    public static <T> Observable<T> just(T item) {
+        return new ObservableJust<>(item);
+    }
+
     /**
      * Создаёт Observable, который последовательно эмитирует переданные элементы и завершает поток.
      *
@@ -38,13 +51,66 @@ public abstract class Observable<T> {
      * @param <T> тип элементов
      * @return новый Observable
      */
+    @SafeVarargs
     public static <T> Observable<T> just(T... items) {
-        return create(emitter -> {
-            for (T item : items) {
-                emitter.onNext(item);
-            }
-            emitter.onComplete();
-        });
+        return fromArray(items);
+    }
+
+    /**
+     * Создаёт Observable, который синхронно эмитирует элементы массива и завершает поток.
+     *
+     * @param items массив элементов (не копируется)
+     * @param <T> тип элементов
+     * @return новый Observable
+     */
+    public static <T> Observable<T> fromArray(T[] items) {
+        if (items.length == 0) {
+            return empty();
+        }
+        if (items.length == 1) {
+            return just(items[0]);
+        }
+        return new ObservableFromArray<>(items);
+    }
+
+    /**
+     * Создаёт Observable, который синхронно эмитирует элементы Iterable и завершает поток.
+     *
+     * @param source источник элементов
+     * @param <T> тип элементов
+     * @return новый Observable
+     */
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> source) {
+        return new ObservableFromIterable<>(source);
+    }
+
+    /**
+     * Создаёт Observable, который эмитирует count последовательных чисел, начиная со start.
+     *
+     * @param start первое число
+     * @param count количество чисел
+     * @return новый Observable
+     */
+    public static Observable<Integer> range(int start, int count) {
+        if (count == 0) {
+            return empty();
+        }
+        if (count == 1) {
+            return just(start);
+        }
+        return new ObservableRange(start, count);
+    }
+
+    /**
+     * Возвращает Observable без элементов, который сразу завершается.
+     * Используется общий экземпляр, так как у источника нет состояния.
+     *
+     * @param <T> тип элементов
+     * @return пустой Observable
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> empty() {
+        return (Observable<T>) (Observable<?>) ObservableEmpty.INSTANCE;
     }
 
     /**
@@ -63,7 +129,12 @@ public abstract class Observable<T> {
      * @param <R> тип элементов после преобразования
      * @return новый Observable с преобразованными элементами
      */
+    @SuppressWarnings("unchecked")
     public <R> Observable<R> map(Function<T, R> mapper) {
+        if (this instanceof ScalarSupplier) {
+            // Источник из одного элемента: вычисляем mapper прямо при подписке, без промежуточного Observer
+            return new ScalarMapObservable<>((ScalarSupplier<T>) this, mapper);
+        }
         return new MapObservable<>(this, mapper);
     }
 
@@ -108,6 +179,19 @@ public abstract class Observable<T> {
         return new ObserveOnObservable<>(this, scheduler);
     }
 
+    /**
+     * Оператор observeOn с выгрузкой на диск: если подписчик не успевает, элементы сверх
+     * memoryThreshold пишутся в сегментный файл через serializer и доставляются по порядку позже.
+     *
+     * @param scheduler планировщик для обработки событий
+     * @param memoryThreshold сколько элементов очереди держать в памяти
+     * @param serializer сериализатор элементов для выгрузки
+     * @return Observable, события которого будут обработаны в Scheduler
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int memoryThreshold, Serializer<T> serializer) {
+        return new ObserveOnObservable<>(this, scheduler, memoryThreshold, serializer);
+    }
+
     /**
      * Функциональный интерфейс OnSubscribe — определяет, как Observable эмитирует элементы подписчику.
      * Обычно реализуется через лямбду.
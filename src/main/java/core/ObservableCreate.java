@@ -1,5 +1,7 @@
 package core;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * ObservableCreate — конкретная реализация Observable, создающая поток данных "с нуля".
  * Используется для реализации метода Observable.create().
@@ -41,8 +43,9 @@ public class ObservableCreate<T> extends Observable<T> {
         private final Observer<? super T> observer;
         // Флаг отмены подписки
         private volatile boolean disposed = false;
-        // Флаг завершения потока (onError или onComplete уже были вызваны)
-        private volatile boolean done = false;
+        // Флаг завершения потока (onError или onComplete уже были вызваны).
+        // compareAndSet гарантирует ровно одно терминальное событие при гонке onError/onComplete.
+        private final AtomicBoolean done = new AtomicBoolean();
 
         /**
          * Конструктор принимает observer, которому будут передаваться события.
@@ -58,7 +61,7 @@ public class ObservableCreate<T> extends Observable<T> {
          */
         @Override
         public void onNext(T item) {
-            if (!done && !disposed) observer.onNext(item);
+            if (!done.get() && !disposed) observer.onNext(item);
         }
 
         /**
@@ -68,8 +71,7 @@ public class ObservableCreate<T> extends Observable<T> {
          */
         @Override
         public void onError(Throwable t) {
-            if (!done && !disposed) {
-                done = true;
+            if (!disposed && done.compareAndSet(false, true)) {
                 observer.onError(t);
             }
         }
@@ -80,8 +82,7 @@ public class ObservableCreate<T> extends Observable<T> {
          */
         @Override
         public void onComplete() {
-            if (!done && !disposed) {
-                done = true;
+            if (!disposed && done.compareAndSet(false, true)) {
                 observer.onComplete();
             }
         }
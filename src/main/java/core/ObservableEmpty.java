@@ -0,0 +1,24 @@
+package core;
+
+/**
+ * ObservableEmpty — Observable без элементов, сразу сообщающий о завершении.
+ * Не хранит состояния, поэтому используется единственный общий экземпляр.
+ */
+public final class ObservableEmpty extends Observable<Object> {
+    // Общий экземпляр для всех вызовов Observable.empty()
+    static final ObservableEmpty INSTANCE = new ObservableEmpty();
+
+    private ObservableEmpty() {
+    }
+
+    /**
+     * Сразу вызывает onComplete у подписчика.
+     * @param observer подписчик
+     * @return Disposable-заглушка
+     */
+    @Override
+    public Disposable subscribe(Observer<? super Object> observer) {
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
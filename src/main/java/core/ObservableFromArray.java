@@ -0,0 +1,33 @@
+package core;
+
+/**
+ * ObservableFromArray — Observable, синхронно эмитирующий элементы массива по порядку.
+ * В отличие от create(), не создаёт лямбду-источник и Emitter на каждую подписку.
+ *
+ * @param <T> Тип элементов
+ */
+public class ObservableFromArray<T> extends Observable<T> {
+    // Массив элементов; не копируется, поэтому не должен изменяться после создания Observable
+    private final T[] items;
+
+    /**
+     * @param items элементы для эмиссии
+     */
+    public ObservableFromArray(T[] items) {
+        this.items = items;
+    }
+
+    /**
+     * Передаёт подписчику все элементы массива, затем завершение.
+     * @param observer подписчик
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @Override
+    public Disposable subscribe(Observer<? super T> observer) {
+        for (T item : items) {
+            observer.onNext(item);
+        }
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
@@ -0,0 +1,53 @@
+package core;
+
+import java.util.Iterator;
+
+/**
+ * ObservableFromIterable — Observable, синхронно эмитирующий элементы Iterable по порядку.
+ * Ошибки итератора (hasNext/next) передаются подписчику в onError.
+ *
+ * @param <T> Тип элементов
+ */
+public class ObservableFromIterable<T> extends Observable<T> {
+    // Источник элементов; итератор запрашивается заново при каждой подписке
+    private final Iterable<? extends T> source;
+
+    /**
+     * @param source коллекция или другой Iterable с элементами для эмиссии
+     */
+    public ObservableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Передаёт подписчику все элементы Iterable, затем завершение.
+     * @param observer подписчик
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @Override
+    public Disposable subscribe(Observer<? super T> observer) {
+        Iterator<? extends T> iterator;
+        try {
+            iterator = source.iterator();
+        } catch (Throwable t) {
+            observer.onError(t);
+            return EmptyDisposable.INSTANCE;
+        }
+        while (true) {
+            T item;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                item = iterator.next();
+            } catch (Throwable t) {
+                // Ошибку итератора передаём подписчику, исключения самого подписчика не перехватываем
+                observer.onError(t);
+                return EmptyDisposable.INSTANCE;
+            }
+            observer.onNext(item);
+        }
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
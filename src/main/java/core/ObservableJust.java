@@ -0,0 +1,39 @@
+package core;
+
+/**
+ * ObservableJust — Observable, эмитирующий один заранее известный элемент и завершающийся.
+ * Реализует ScalarSupplier, поэтому операторы могут свернуть цепочку над ним при сборке.
+ *
+ * @param <T> Тип элемента
+ */
+public class ObservableJust<T> extends Observable<T> implements ScalarSupplier<T> {
+    // Единственный элемент потока
+    private final T value;
+
+    /**
+     * @param value элемент, который получит каждый подписчик
+     */
+    public ObservableJust(T value) {
+        this.value = value;
+    }
+
+    /**
+     * @return элемент потока
+     */
+    @Override
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Синхронно передаёт элемент и завершение подписчику.
+     * @param observer подписчик
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @Override
+    public Disposable subscribe(Observer<? super T> observer) {
+        observer.onNext(value);
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
@@ -0,0 +1,43 @@
+package core;
+
+/**
+ * ObservableRange — Observable, синхронно эмитирующий последовательность целых чисел
+ * start, start + 1, ..., start + count - 1.
+ */
+public class ObservableRange extends Observable<Integer> {
+    // Первое число последовательности
+    private final int start;
+    // Количество чисел в последовательности
+    private final int count;
+
+    /**
+     * @param start первое число
+     * @param count количество чисел (неотрицательное)
+     * @throws IllegalArgumentException если count отрицателен или последовательность выходит за Integer.MAX_VALUE
+     */
+    public ObservableRange(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer overflow: start + count - 1 > Integer.MAX_VALUE");
+        }
+        this.start = start;
+        this.count = count;
+    }
+
+    /**
+     * Передаёт подписчику числа последовательности, затем завершение.
+     * @param observer подписчик
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @Override
+    public Disposable subscribe(Observer<? super Integer> observer) {
+        long end = (long) start + count;
+        for (long i = start; i < end; i++) {
+            observer.onNext((int) i);
+        }
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
@@ -0,0 +1,18 @@
+package core;
+
+/**
+ * ScalarSupplier — маркер синхронного источника, который эмитирует ровно один элемент.
+ * Операторы распознают такой источник при сборке цепочки и вычисляют результат
+ * напрямую при подписке, не создавая промежуточных Observer.
+ *
+ * @param <T> тип единственного элемента
+ */
+public interface ScalarSupplier<T> {
+    /**
+     * Возвращает (или вычисляет) единственный элемент источника.
+     * Вызывается при каждой подписке; исключение должно быть передано подписчику в onError.
+     *
+     * @return элемент источника
+     */
+    T get();
+}
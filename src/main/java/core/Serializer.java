@@ -0,0 +1,30 @@
+package core;
+
+import java.io.IOException;
+
+/**
+ * Интерфейс Serializer — преобразование элементов потока в байты и обратно.
+ * Используется операторами, которые при перегрузке выгружают элементы из памяти на диск
+ * (например, observeOn с порогом памяти).
+ *
+ * @param <T> тип элементов
+ */
+public interface Serializer<T> {
+    /**
+     * Преобразует элемент в массив байт.
+     *
+     * @param item элемент потока (не null)
+     * @return сериализованное представление элемента
+     * @throws IOException если элемент не может быть сериализован
+     */
+    byte[] serialize(T item) throws IOException;
+
+    /**
+     * Восстанавливает элемент из массива байт, полученного методом serialize.
+     *
+     * @param data сериализованное представление элемента
+     * @return восстановленный элемент
+     * @throws IOException если данные не могут быть десериализованы
+     */
+    T deserialize(byte[] data) throws IOException;
+}
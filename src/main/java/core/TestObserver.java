@@ -0,0 +1,219 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestObserver — Observer для тестов: запоминает все полученные события
+ * и предоставляет методы ожидания и проверки. Методы assertXxx выбрасывают AssertionError
+ * и возвращают this, чтобы проверки можно было записывать цепочкой.
+ *
+ * @param <T> Тип элементов
+ */
+public class TestObserver<T> implements Observer<T>, Disposable {
+    // Полученные элементы
+    private final List<T> values = new ArrayList<>();
+    // Полученные ошибки
+    private final List<Throwable> errors = new ArrayList<>();
+    // Сколько раз был вызван onComplete
+    private int completions;
+    // Поток, в котором было получено последнее событие
+    private volatile Thread lastThread;
+    // Срабатывает при первом терминальном событии
+    private final CountDownLatch done = new CountDownLatch(1);
+    // Флаг отмены подписки
+    private volatile boolean disposed;
+
+    @Override
+    public void onNext(T item) {
+        lastThread = Thread.currentThread();
+        synchronized (this) {
+            values.add(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        lastThread = Thread.currentThread();
+        synchronized (this) {
+            errors.add(t);
+        }
+        done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        lastThread = Thread.currentThread();
+        synchronized (this) {
+            completions++;
+        }
+        done.countDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * @return копия списка полученных элементов
+     */
+    public synchronized List<T> values() {
+        return new ArrayList<>(values);
+    }
+
+    /**
+     * @return копия списка полученных ошибок
+     */
+    public synchronized List<Throwable> errors() {
+        return new ArrayList<>(errors);
+    }
+
+    /**
+     * @return поток, в котором было получено последнее событие, или null
+     */
+    public Thread lastThread() {
+        return lastThread;
+    }
+
+    /**
+     * Ожидает терминальное событие (onError или onComplete) не дольше timeout.
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return true, если терминальное событие получено
+     * @throws InterruptedException если ожидание прервано
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * Ожидает терминальное событие и падает, если оно не пришло за timeout.
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return this
+     */
+    public TestObserver<T> awaitDone(long timeout, TimeUnit unit) {
+        try {
+            if (!done.await(timeout, unit)) {
+                throw fail("Timeout waiting for terminal event (" + timeout + " " + unit + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw fail("Interrupted while waiting for terminal event");
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что получены ровно эти элементы в этом порядке.
+     * @param expected ожидаемые элементы
+     * @return this
+     */
+    @SafeVarargs
+    public final TestObserver<T> assertValues(T... expected) {
+        List<T> actual = values();
+        // Копируем в список без передачи varargs-параметра дальше (иначе -Xlint:varargs)
+        List<T> expectedList = new ArrayList<>(expected.length);
+        for (T item : expected) {
+            expectedList.add(item);
+        }
+        if (!actual.equals(expectedList)) {
+            throw fail("Expected values " + expectedList + " but was " + actual);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет количество полученных элементов.
+     * @param count ожидаемое количество
+     * @return this
+     */
+    public TestObserver<T> assertValueCount(int count) {
+        int actual = values().size();
+        if (actual != count) {
+            throw fail("Expected " + count + " values but was " + actual);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что onComplete был вызван ровно один раз.
+     * @return this
+     */
+    public synchronized TestObserver<T> assertComplete() {
+        if (completions != 1) {
+            throw fail("Expected exactly one onComplete but was " + completions);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что onComplete не вызывался.
+     * @return this
+     */
+    public synchronized TestObserver<T> assertNotComplete() {
+        if (completions != 0) {
+            throw fail("Expected no onComplete but was " + completions);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что ошибок не было.
+     * @return this
+     */
+    public synchronized TestObserver<T> assertNoErrors() {
+        if (!errors.isEmpty()) {
+            throw fail("Expected no errors but was " + errors);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что получена ровно одна ошибка указанного типа.
+     * @param type ожидаемый тип ошибки
+     * @return this
+     */
+    public synchronized TestObserver<T> assertError(Class<? extends Throwable> type) {
+        if (errors.size() != 1 || !type.isInstance(errors.get(0))) {
+            throw fail("Expected one " + type.getName() + " but was " + errors);
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что получено ровно одно терминальное событие.
+     * @return this
+     */
+    public synchronized TestObserver<T> assertTerminated() {
+        int terminals = completions + errors.size();
+        if (terminals != 1) {
+            throw fail("Expected exactly one terminal event but was " + terminals
+                    + " (onComplete: " + completions + ", errors: " + errors + ")");
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что терминальных событий ещё не было.
+     * @return this
+     */
+    public synchronized TestObserver<T> assertNotTerminated() {
+        if (completions != 0 || !errors.isEmpty()) {
+            throw fail("Expected no terminal event but was onComplete: " + completions + ", errors: " + errors);
+        }
+        return this;
+    }
+
+    private AssertionError fail(String message) {
+        return new AssertionError(message + " [values: " + values().size() + "]");
+    }
+}
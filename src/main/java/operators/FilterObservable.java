@@ -1,8 +1,10 @@
 package operators;
 
 import core.Disposable;
+import core.EmptyDisposable;
 import core.Observable;
 import core.Observer;
+import core.ScalarSupplier;
 import java.util.function.Predicate;
 
 /**
@@ -33,12 +35,16 @@ public class FilterObservable<T> extends Observable<T> {
      * Каждый элемент проверяется предикатом: если predicate возвращает true,
      * элемент передается дальше подписчику; иначе игнорируется.
      * Ошибки и завершение пробрасываются вниз по цепочке.
+     * Если источник — ScalarSupplier, элемент проверяется напрямую, без промежуточного Observer.
      *
      * @param observer подписчик, который получит отфильтрованные элементы
      * @return Disposable для управления подпиской
      */
     @Override
     public Disposable subscribe(Observer<? super T> observer) {
+        if (source instanceof ScalarSupplier) {
+            return subscribeScalar(observer);
+        }
         // Подписываемся на исходный Observable, фильтруем элементы через предикат
         return source.subscribe(new Observer<T>() {
             @Override
@@ -67,4 +73,27 @@ public class FilterObservable<T> extends Observable<T> {
             }
         });
     }
+
+    /**
+     * Быстрый путь для источника из одного элемента.
+     * @param observer подписчик
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @SuppressWarnings("unchecked")
+    private Disposable subscribeScalar(Observer<? super T> observer) {
+        T item;
+        boolean accepted;
+        try {
+            item = ((ScalarSupplier<T>) source).get();
+            accepted = predicate.test(item);
+        } catch (Throwable t) {
+            observer.onError(t);
+            return EmptyDisposable.INSTANCE;
+        }
+        if (accepted) {
+            observer.onNext(item);
+        }
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
 }
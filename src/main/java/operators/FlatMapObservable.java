@@ -1,8 +1,11 @@
 package operators;
 
 import core.Disposable;
+import core.EmptyDisposable;
 import core.Observable;
 import core.Observer;
+import core.ScalarSupplier;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -34,51 +37,121 @@ public class FlatMapObservable<T, R> extends Observable<R> {
      * Подписка на исходный Observable.
      * Для каждого элемента вызывается mapper, который возвращает новый Observable<R>,
      * и на него немедленно подписывается новый Observer.
-     * Все элементы из внутренних Observable<R> передаются основному observer'у.
-     * Ошибки пробрасываются вниз по цепочке.
+     * Все элементы из внутренних Observable<R> передаются основному observer'у последовательно,
+     * даже если внутренние Observable эмитируют из разных потоков.
+     * Ошибки пробрасываются вниз по цепочке; onComplete — после завершения источника и всех внутренних потоков.
+     * Если источник — ScalarSupplier, подписчик подписывается прямо на единственный внутренний Observable.
      *
      * @param observer подписчик, который получит элементы из всех внутренних Observable
      * @return Disposable для управления подпиской
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Disposable subscribe(Observer<? super R> observer) {
+        if (source instanceof ScalarSupplier) {
+            // Один внешний элемент — внутренний Observable и есть весь результат, включая onComplete
+            Observable<R> inner;
+            try {
+                inner = mapper.apply(((ScalarSupplier<T>) source).get());
+            } catch (Throwable t) {
+                observer.onError(t);
+                return EmptyDisposable.INSTANCE;
+            }
+            return inner.subscribe(observer);
+        }
         // Подписываемся на исходный Observable, для каждого элемента создаём новый Observable<R>
-        return source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                try {
-                    // Для каждого элемента исходного потока подписываемся на соответствующий Observable<R>
-                    mapper.apply(item).subscribe(new Observer<R>() {
-                        @Override
-                        public void onNext(R r) {
-                            // Каждый элемент внутреннего Observable передаём дальше
-                            observer.onNext(r);
-                        }
-                        @Override
-                        public void onError(Throwable t) {
-                            // Ошибки из внутреннего Observable пробрасываем вниз
-                            observer.onError(t);
-                        }
-                        @Override
-                        public void onComplete() {
-                            // Завершение внутреннего Observable игнорируем (общий onComplete вызовется ниже)
-                        }
-                    });
-                } catch (Throwable t) {
-                    // Если mapper выбрасывает исключение, пробрасываем ошибку вниз
-                    observer.onError(t);
+        return source.subscribe(new FlatMapObserver<>(observer, mapper));
+    }
+
+    /**
+     * FlatMapObserver — подписчик на исходный Observable, объединяющий внутренние потоки.
+     * Внутренние Observable могут эмитировать из разных потоков, поэтому вызовы observer'а
+     * сериализуются, а onComplete отправляется только после завершения источника и всех внутренних потоков.
+     */
+    static final class FlatMapObserver<T, R> implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final Function<T, Observable<R>> mapper;
+        // Число незавершённых потоков: сам источник (1) плюс активные внутренние Observable
+        private final AtomicInteger active = new AtomicInteger(1);
+        // Флаг отправленного терминального события; изменяется под блокировкой this,
+        // volatile — чтобы onNext мог без блокировки перестать обрабатывать элементы после ошибки
+        private volatile boolean terminated;
+
+        FlatMapObserver(Observer<? super R> downstream, Function<T, Observable<R>> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (terminated) {
+                // Поток уже завершён ошибкой — не вызываем mapper и не подписываемся на новые Observable
+                return;
+            }
+            Observable<R> inner;
+            try {
+                // Для каждого элемента исходного потока получаем соответствующий Observable<R>
+                inner = mapper.apply(item);
+            } catch (Throwable t) {
+                // Если mapper выбрасывает исключение, пробрасываем ошибку вниз
+                onError(t);
+                return;
+            }
+            active.incrementAndGet();
+            inner.subscribe(new Observer<R>() {
+                @Override
+                public void onNext(R r) {
+                    // Каждый элемент внутреннего Observable передаём дальше
+                    emit(r);
                 }
+                @Override
+                public void onError(Throwable t) {
+                    // Ошибки из внутреннего Observable пробрасываем вниз
+                    FlatMapObserver.this.onError(t);
+                }
+                @Override
+                public void onComplete() {
+                    // Завершился один из внутренних Observable
+                    innerDone();
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                downstream.onError(t);
             }
-            @Override
-            public void onError(Throwable t) {
-                // Ошибки исходного Observable пробрасываем вниз
-                observer.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            // Источник завершился; общий onComplete — когда завершатся и все внутренние Observable
+            innerDone();
+        }
+
+        private void emit(R item) {
+            synchronized (this) {
+                if (!terminated) {
+                    downstream.onNext(item);
+                }
             }
-            @Override
-            public void onComplete() {
-                // Завершение исходного Observable пробрасываем вниз
-                observer.onComplete();
+        }
+
+        private void innerDone() {
+            if (active.decrementAndGet() == 0) {
+                synchronized (this) {
+                    if (terminated) {
+                        return;
+                    }
+                    terminated = true;
+                    downstream.onComplete();
+                }
             }
-        });
+        }
     }
 }
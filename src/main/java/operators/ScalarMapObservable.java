@@ -0,0 +1,66 @@
+package operators;
+
+import core.Disposable;
+import core.EmptyDisposable;
+import core.Observable;
+import core.Observer;
+import core.ScalarSupplier;
+
+import java.util.function.Function;
+
+/**
+ * ScalarMapObservable — свёрнутый оператор map над источником из одного элемента (ScalarSupplier).
+ * Вместо цепочки Observer'ов при подписке вычисляет mapper над элементом источника
+ * и передаёт результат напрямую. Сам тоже является ScalarSupplier, поэтому
+ * последующие map/filter/flatMap сворачиваются дальше.
+ *
+ * @param <T> Тип исходного элемента
+ * @param <R> Тип элемента после преобразования
+ */
+public class ScalarMapObservable<T, R> extends Observable<R> implements ScalarSupplier<R> {
+    // Источник единственного элемента
+    private final ScalarSupplier<T> source;
+    // Функция-преобразователь элемента
+    private final Function<T, R> mapper;
+
+    /**
+     * Конструктор ScalarMapObservable.
+     *
+     * @param source источник единственного элемента
+     * @param mapper функция преобразования элемента типа T в элемент типа R
+     */
+    public ScalarMapObservable(ScalarSupplier<T> source, Function<T, R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Вычисляет преобразованный элемент.
+     * @return результат mapper над элементом источника
+     */
+    @Override
+    public R get() {
+        return mapper.apply(source.get());
+    }
+
+    /**
+     * Вычисляет элемент и передаёт его подписчику вместе с завершением.
+     * Если mapper выбрасывает исключение, оно передаётся в onError.
+     *
+     * @param observer подписчик, который получит преобразованный элемент
+     * @return Disposable-заглушка: к моменту возврата поток уже завершён
+     */
+    @Override
+    public Disposable subscribe(Observer<? super R> observer) {
+        R value;
+        try {
+            value = get();
+        } catch (Throwable t) {
+            observer.onError(t);
+            return EmptyDisposable.INSTANCE;
+        }
+        observer.onNext(value);
+        observer.onComplete();
+        return EmptyDisposable.INSTANCE;
+    }
+}
@@ -1,19 +1,21 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * ComputationScheduler — реализация Scheduler для вычислительных задач (CPU-bound).
  * Использует FixedThreadPool, количество потоков равно числу доступных процессоров.
  * Такой Scheduler оптимален для параллельных вычислений, не связанных с блокирующими операциями.
+ * Пул создаётся лениво, при первой задаче, и состоит из daemon-потоков.
  */
 public class ComputationScheduler implements Scheduler {
     // ExecutorService с фиксированным числом потоков, равным количеству доступных процессоров.
     // Это позволяет эффективно использовать CPU для параллельных вычислений.
-    private final ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-    );
+    // Создаётся при первом вызове execute, чтобы не платить за потоки, которые могут не понадобиться.
+    private final LazyExecutor executor = new LazyExecutor(() -> Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new RxThreadFactory("RxComputationThreadPool-")
+    ));
 
     /**
      * Планирует выполнение задачи (Runnable) в пуле потоков для вычислений.
@@ -21,6 +23,6 @@ public class ComputationScheduler implements Scheduler {
      */
     @Override
     public void execute(Runnable task) {
-        executor.submit(task); // Передаём задачу в ExecutorService для асинхронного выполнения
+        executor.get().submit(task); // Передаём задачу в ExecutorService для асинхронного выполнения
     }
 }
@@ -0,0 +1,29 @@
+package schedulers;
+
+import java.util.concurrent.Executor;
+
+/**
+ * ExecutorScheduler — адаптер произвольного Executor к интерфейсу Scheduler.
+ * Жизненным циклом Executor (созданием потоков, остановкой) управляет вызывающий код.
+ * Создаётся через {@link Scheduler#from(Executor)}.
+ */
+public class ExecutorScheduler implements Scheduler {
+    // Executor, которому передаются задачи
+    private final Executor executor;
+
+    /**
+     * @param executor исполнитель задач
+     */
+    public ExecutorScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Передаёт задачу в Executor.
+     * @param task задача, которую нужно выполнить
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+}
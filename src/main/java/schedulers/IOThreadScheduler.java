@@ -1,6 +1,5 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
@@ -8,11 +7,13 @@ import java.util.concurrent.Executors;
  * Использует CachedThreadPool, который динамически создает новые потоки по мере необходимости
  * и переиспользует уже завершённые потоки для выполнения новых задач.
  * Такой Scheduler подходит для задач, связанных с вводом-выводом, сетевыми запросами, файловыми операциями и т.п.
+ * Пул создаётся лениво, при первой задаче, и состоит из daemon-потоков.
  */
 public class IOThreadScheduler implements Scheduler {
     // ExecutorService с CachedThreadPool: количество потоков ограничено только ресурсами системы,
-    // потоки создаются и уничтожаются автоматически
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // потоки создаются и уничтожаются автоматически. Создаётся при первом вызове execute.
+    private final LazyExecutor executor = new LazyExecutor(
+            () -> Executors.newCachedThreadPool(new RxThreadFactory("RxCachedThreadScheduler-")));
 
     /**
      * Планирует выполнение задачи (Runnable) в пуле потоков для IO-операций.
@@ -20,6 +21,6 @@ public class IOThreadScheduler implements Scheduler {
      */
     @Override
     public void execute(Runnable task) {
-        executor.submit(task); // Передаём задачу в ExecutorService
+        executor.get().submit(task); // Передаём задачу в ExecutorService
     }
 }
@@ -0,0 +1,47 @@
+package schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * LazyExecutor — ExecutorService, создаваемый при первом обращении.
+ * Используется стандартными Scheduler, чтобы не платить за пул потоков, который может не понадобиться.
+ */
+final class LazyExecutor {
+    // Фабрика пула; вызывается не более одного раза
+    private final Supplier<ExecutorService> factory;
+    // Созданный пул; null до первого обращения
+    private volatile ExecutorService executor;
+
+    /**
+     * @param factory фабрика пула потоков
+     */
+    LazyExecutor(Supplier<ExecutorService> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * @return true, если пул уже создан
+     */
+    boolean isCreated() {
+        return executor != null;
+    }
+
+    /**
+     * Возвращает пул потоков, создавая его при первом обращении (double-checked locking).
+     * @return ExecutorService
+     */
+    ExecutorService get() {
+        ExecutorService e = executor;
+        if (e == null) {
+            synchronized (this) {
+                e = executor;
+                if (e == null) {
+                    e = factory.get();
+                    executor = e;
+                }
+            }
+        }
+        return e;
+    }
+}
@@ -1,13 +1,23 @@
 package schedulers;
 
 import core.Disposable;
+import core.EmptyDisposable;
 import core.Observable;
 import core.Observer;
+import core.Serializer;
+import tracing.TraceContext;
+import tracing.Tracing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ObserveOnObservable — оператор-обёртка для Observable, реализующий observeOn.
  * Позволяет переключить поток, в котором вызываются методы onNext, onError, onComplete у Observer.
  * Это важно для управления тем, где (в каком Scheduler/потоке) будет происходить обработка событий подписчиком.
+ * События складываются в очередь и доставляются одной задачей-"дренажом" за раз, поэтому порядок
+ * сохраняется на любом Scheduler. При заданном Serializer элементы сверх порога памяти
+ * выгружаются в сегментный файл на диске и доставляются по порядку, когда подписчик догонит поток.
  *
  * @param <T> тип элементов в потоке
  */
@@ -16,6 +26,10 @@ public class ObserveOnObservable<T> extends Observable<T> {
     private final Observable<T> source;
     // Scheduler, в котором будут вызываться методы Observer
     private final Scheduler scheduler;
+    // Максимальное число элементов очереди в памяти до выгрузки на диск
+    private final int memoryThreshold;
+    // Сериализатор для выгрузки на диск; null — очередь только в памяти
+    private final Serializer<T> serializer;
 
     /**
      * Конструктор. Принимает исходный Observable и Scheduler для обработки событий.
@@ -23,8 +37,24 @@ public class ObserveOnObservable<T> extends Observable<T> {
      * @param scheduler планировщик (Scheduler), на котором будут вызываться методы Observer
      */
     public ObserveOnObservable(Observable<T> source, Scheduler scheduler) {
+        this(source, scheduler, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Конструктор с выгрузкой очереди на диск при перегрузке.
+     * @param source исходный Observable
+     * @param scheduler планировщик (Scheduler), на котором будут вызываться методы Observer
+     * @param memoryThreshold сколько элементов держать в памяти, прежде чем писать на диск
+     * @param serializer сериализатор элементов для сегментного файла
+     */
+    public ObserveOnObservable(Observable<T> source, Scheduler scheduler, int memoryThreshold, Serializer<T> serializer) {
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException("memoryThreshold >= 0 required but it was " + memoryThreshold);
+        }
         this.source = source;
         this.scheduler = scheduler;
+        this.memoryThreshold = memoryThreshold;
+        this.serializer = serializer;
     }
 
     /**
@@ -36,25 +66,253 @@ public class ObserveOnObservable<T> extends Observable<T> {
      */
     @Override
     public Disposable subscribe(Observer<? super T> observer) {
-        // Подписываемся на исходный Observable, но все события проксируем через Scheduler
-        return source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                // onNext будет вызван в Scheduler (например, в другом потоке)
-                scheduler.execute(() -> observer.onNext(item));
+        ObserveOnObserver<T> parent = new ObserveOnObserver<>(
+                observer, scheduler, new SpillQueue<>(memoryThreshold, serializer));
+        // Подписываемся на исходный Observable, все события проходят через очередь parent
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    /**
+     * ObserveOnObserver — промежуточный подписчик: кладёт события в очередь
+     * и планирует в Scheduler задачу, которая доставляет их подписчику по порядку.
+     * Если при подписке трассировка активна, вместе с каждым элементом снимается контекст
+     * трассировки, и элемент доставляется под своим контекстом со своим Span.
+     * Снимок хранится в SpillQueue рядом с элементом: элементы, выгруженные на диск,
+     * не держат его в куче и доставляются только со Span, без контекста ContextPropagator.
+     */
+    static final class ObserveOnObserver<T> implements Observer<T>, Disposable, Runnable {
+        private final Observer<? super T> downstream;
+        private final Scheduler scheduler;
+        // Scheduler с affinity, которому сообщается backlog; null для остальных Scheduler
+        private final WorkStealingScheduler affine;
+        // Имя стадии для трассировки; строится при первом Span
+        private String stage;
+        private final SpillQueue<T> queue;
+        // Счётчик запросов на дренаж: задача в Scheduler выполняется, пока он не обнулится
+        private final AtomicInteger wip = new AtomicInteger();
+        // Флаг завершения источника (onError или onComplete уже получены)
+        private volatile boolean done;
+        // Ошибка источника; публикуется записью volatile-поля done
+        private Throwable error;
+        // Флаг отмены подписки
+        private volatile boolean disposed;
+        // Disposable исходного Observable; устанавливается один раз.
+        // EmptyDisposable.INSTANCE здесь означает, что подписка уже отменена.
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        // Трассировка была активна при подписке: снимаем контекст для каждого события
+        private final boolean traced;
+        // Снимок контекста терминального события; публикуется записью volatile-поля done
+        private TraceContext terminalContext;
+
+        ObserveOnObserver(Observer<? super T> downstream, Scheduler scheduler, SpillQueue<T> queue) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+            this.affine = scheduler instanceof WorkStealingScheduler && ((WorkStealingScheduler) scheduler).hasAffinity()
+                    ? (WorkStealingScheduler) scheduler : null;
+            this.queue = queue;
+            this.traced = Tracing.isActive();
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || disposed) {
+                return;
+            }
+            try {
+                queue.offer(item, traced ? Tracing.capture() : null);
+            } catch (Throwable e) {
+                // Элемент нельзя потерять молча (IOException или ошибка Serializer) — останавливаем
+                // источник и завершаем поток ошибкой после уже принятых элементов
+                cancelUpstream();
+                onError(e);
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || disposed) {
+                return;
+            }
+            error = t;
+            captureTerminalContext();
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || disposed) {
+                return;
+            }
+            captureTerminalContext();
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                cancelUpstream();
+                // Дренаж освободит очередь и сегментный файл в потоке Scheduler
+                schedule();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        /**
+         * Запоминает Disposable исходного Observable. Синхронный источник возвращает его
+         * только после эмиссии, поэтому если подписка уже отменена — отменяем источник сразу.
+         * @param d Disposable исходного Observable
+         */
+        void setUpstream(Disposable d) {
+            if (!upstream.compareAndSet(null, d)) {
+                d.dispose();
             }
+        }
+
+        /**
+         * Отменяет подписку на исходный Observable (или отменит её при setUpstream).
+         */
+        private void cancelUpstream() {
+            Disposable d = upstream.getAndSet(EmptyDisposable.INSTANCE);
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        private void captureTerminalContext() {
+            if (traced) {
+                terminalContext = Tracing.capture();
+            }
+        }
+
+        /**
+         * @return имя стадии для Span; строится только на пути трассировки
+         */
+        private String stage() {
+            String name = stage;
+            if (name == null) {
+                // Вызывается только из дренажа, который не выполняется параллельно сам с собой
+                name = "observeOn(" + scheduler.getClass().getSimpleName() + ")";
+                stage = name;
+            }
+            return name;
+        }
+
+        /**
+         * Завершает поток ошибкой из дренажа: отменяет источник, освобождает очередь
+         * и передаёт ошибку подписчику. Последующие события игнорируются.
+         * @param e ошибка
+         */
+        private void fail(Throwable e) {
+            disposed = true;
+            cancelUpstream();
+            queue.close();
+            downstream.onError(e);
+        }
 
-            @Override
-            public void onError(Throwable t) {
-                // onError будет вызван в Scheduler
-                scheduler.execute(() -> observer.onError(t));
+        /**
+         * Планирует дренаж, если он ещё не запланирован и не выполняется.
+         * Сама задача дренажа не оборачивается Tracing: контекст и Span — у каждого элемента.
+         */
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                scheduler.execute(this);
             }
+        }
 
-            @Override
-            public void onComplete() {
-                // onComplete будет вызван в Scheduler
-                scheduler.execute(observer::onComplete);
+        /**
+         * Дренаж очереди: доставляет накопленные события подписчику в потоке Scheduler.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        queue.close();
+                        return;
+                    }
+                    boolean d = done;
+                    boolean empty = queue.isEmpty();
+                    if (d && empty) {
+                        disposed = true;
+                        queue.close();
+                        TraceContext context = terminalContext;
+                        if (context != null) {
+                            context.enter();
+                        }
+                        try {
+                            Throwable t = error;
+                            if (t != null) {
+                                downstream.onError(t);
+                            } else {
+                                downstream.onComplete();
+                            }
+                        } finally {
+                            if (context != null) {
+                                context.exit(stage());
+                            }
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    T item;
+                    TraceContext context;
+                    try {
+                        item = queue.poll();
+                        context = queue.polledContext();
+                    } catch (Throwable e) {
+                        // Ошибка чтения сегмента или Serializer.deserialize
+                        fail(e);
+                        return;
+                    }
+                    boolean previousBacklog = false;
+                    if (affine != null) {
+                        // Пока в очереди есть элементы, следующую стадию лучше отдать другому воркеру
+                        previousBacklog = WorkStealingScheduler.setBacklog(!queue.isEmpty());
+                    }
+                    try {
+                        if (context != null) {
+                            // Элемент обрабатывается под контекстом потока, который его поставил в очередь
+                            context.enter();
+                            try {
+                                downstream.onNext(item);
+                            } finally {
+                                context.exit(stage());
+                            }
+                        } else {
+                            downstream.onNext(item);
+                        }
+                    } catch (Throwable e) {
+                        // Иначе дренаж завершился бы с ненулевым wip и поток "завис" бы навсегда
+                        fail(e);
+                        return;
+                    } finally {
+                        if (affine != null) {
+                            WorkStealingScheduler.setBacklog(previousBacklog);
+                        }
+                    }
+                    if (affine != null) {
+                        // Следующая стадия обрабатывает элемент на этом же воркере, вне блокировок подписчика
+                        affine.runDeferred();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
             }
-        });
+        }
     }
 }
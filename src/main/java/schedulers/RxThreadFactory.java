@@ -0,0 +1,34 @@
+package schedulers;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RxThreadFactory — фабрика потоков для стандартных Scheduler.
+ * Создаёт именованные daemon-потоки, чтобы пулы планировщиков не блокировали завершение JVM.
+ */
+final class RxThreadFactory implements ThreadFactory {
+    // Префикс имени потока, например "RxComputationThreadPool-"
+    private final String prefix;
+    // Счётчик для нумерации создаваемых потоков
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * @param prefix префикс имени создаваемых потоков
+     */
+    RxThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Создаёт новый daemon-поток для выполнения задачи.
+     * @param task задача, которую будет выполнять поток
+     * @return новый поток
+     */
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
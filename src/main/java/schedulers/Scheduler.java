@@ -1,5 +1,8 @@
 package schedulers;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Интерфейс Scheduler определяет абстракцию для планировщика задач.
  * Позволяет выполнять переданные задачи (Runnable) на определённом исполнителе (например, в отдельном потоке или пуле потоков).
@@ -13,4 +16,32 @@ public interface Scheduler {
      * @param task задача для выполнения
      */
     void execute(Runnable task);
+
+    /**
+     * Создаёт Scheduler, передающий задачи в указанный Executor.
+     *
+     * @param executor исполнитель задач
+     * @return Scheduler поверх executor
+     */
+    static Scheduler from(Executor executor) {
+        return new ExecutorScheduler(executor);
+    }
+
+    /**
+     * Создаёт Scheduler поверх Executor с подсказкой affinity.
+     * Для ForkJoinPool возвращается WorkStealingScheduler: при affinity задачи, запланированные
+     * из воркера пула (например, соседними стадиями observeOn), выполняются на этом же воркере,
+     * пока он не перегружен.
+     * Для остальных Executor подсказка игнорируется.
+     *
+     * @param executor исполнитель задач
+     * @param affinity предпочитать текущий воркер пула для задач, запланированных из него
+     * @return Scheduler поверх executor
+     */
+    static Scheduler from(Executor executor, boolean affinity) {
+        if (executor instanceof ForkJoinPool) {
+            return new WorkStealingScheduler((ForkJoinPool) executor, affinity);
+        }
+        return new ExecutorScheduler(executor);
+    }
 }
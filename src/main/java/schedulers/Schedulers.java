@@ -0,0 +1,75 @@
+package schedulers;
+
+/**
+ * Schedulers — фабрика общих (разделяемых) экземпляров Scheduler.
+ * Каждый экземпляр создаётся лениво, при первом обращении к соответствующему методу
+ * (идиома holder-класса), а пулы потоков внутри них — при первой задаче.
+ * Все потоки стандартных планировщиков — daemon и не мешают завершению JVM.
+ */
+public final class Schedulers {
+
+    private Schedulers() {
+    }
+
+    /**
+     * Общий Scheduler для вычислительных задач (CPU-bound).
+     * @return разделяемый ComputationScheduler
+     */
+    public static Scheduler computation() {
+        return ComputationHolder.INSTANCE;
+    }
+
+    /**
+     * Общий Scheduler для IO-операций.
+     * @return разделяемый IOThreadScheduler
+     */
+    public static Scheduler io() {
+        return IoHolder.INSTANCE;
+    }
+
+    /**
+     * Общий Scheduler с одним выделенным потоком.
+     * @return разделяемый SingleThreadScheduler
+     */
+    public static Scheduler single() {
+        return SingleHolder.INSTANCE;
+    }
+
+    /**
+     * Общий Scheduler на ForkJoinPool с work stealing и affinity: соседние стадии observeOn
+     * одной подписки предпочитают один воркер, пока он не перегружен.
+     * @return разделяемый WorkStealingScheduler
+     */
+    public static Scheduler workStealing() {
+        return WorkStealingHolder.INSTANCE;
+    }
+
+    /**
+     * Scheduler, выполняющий задачи в текущем потоке без создания новых потоков.
+     * @return разделяемый TrampolineScheduler
+     */
+    public static Scheduler trampoline() {
+        return TrampolineHolder.INSTANCE;
+    }
+
+    // Holder-классы инициализируются JVM только при первом обращении к полю INSTANCE
+    private static final class ComputationHolder {
+        static final Scheduler INSTANCE = new ComputationScheduler();
+    }
+
+    private static final class IoHolder {
+        static final Scheduler INSTANCE = new IOThreadScheduler();
+    }
+
+    private static final class SingleHolder {
+        static final Scheduler INSTANCE = new SingleThreadScheduler();
+    }
+
+    private static final class WorkStealingHolder {
+        static final Scheduler INSTANCE = new WorkStealingScheduler();
+    }
+
+    private static final class TrampolineHolder {
+        static final Scheduler INSTANCE = new TrampolineScheduler();
+    }
+}
@@ -1,16 +1,18 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * SingleThreadScheduler — реализация Scheduler,
  * которая выполняет все задачи последовательно в одном выделенном потоке.
  * Используется для сценариев, где важен порядок выполнения (например, обновление UI).
+ * Поток создаётся лениво, при первой задаче, и является daemon-потоком.
  */
 public class SingleThreadScheduler implements Scheduler {
-    // ExecutorService с одним потоком: все задачи выполняются по очереди в одном и том же потоке
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // ExecutorService с одним потоком: все задачи выполняются по очереди в одном и том же потоке.
+    // Создаётся при первом вызове execute.
+    private final LazyExecutor executor = new LazyExecutor(
+            () -> Executors.newSingleThreadExecutor(new RxThreadFactory("RxSingleScheduler-")));
 
     /**
      * Планирует выполнение задачи (Runnable) в выделенном потоке.
@@ -18,6 +20,6 @@ public class SingleThreadScheduler implements Scheduler {
      */
     @Override
     public void execute(Runnable task) {
-        executor.submit(task); // Передаём задачу в очередь ExecutorService
+        executor.get().submit(task); // Передаём задачу в очередь ExecutorService
     }
 }
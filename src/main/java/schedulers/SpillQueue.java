@@ -0,0 +1,249 @@
+package schedulers;
+
+import core.Serializer;
+import tracing.TraceContext;
+import tracing.Tracing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * SpillQueue — FIFO-очередь элементов для observeOn с выгрузкой на диск.
+ * Первые memoryThreshold элементов хранятся в памяти; следующие, пока потребитель не догонит,
+ * дописываются через Serializer в сегментные файлы фиксированного размера, отображённые в память.
+ * Формат записи — [флаги byte][длина int][момент постановки long, если есть][байты]. Полностью прочитанный сегмент удаляется сразу,
+ * а последний (в который идёт запись) после прочтения переиспользуется с начала, поэтому
+ * на диске хранится только текущий backlog. Порядок элементов сохраняется:
+ * пока на диске есть элементы, новые тоже пишутся на диск.
+ * Снимок трассировки хранится рядом с элементом: в памяти — сам TraceContext, на диске —
+ * только момент постановки в очередь. Поэтому выгруженный элемент не держит объектов в куче,
+ * но при доставке получает лишь Span (ожидание и обработка), без контекста ContextPropagator.
+ * Методы синхронизированы: производитель и потребитель работают в разных потоках.
+ *
+ * @param <T> тип элементов
+ */
+final class SpillQueue<T> {
+    // Размер сегментного файла по умолчанию
+    static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+    // Размер заголовка записи без момента постановки: флаги и длина
+    static final int RECORD_HEADER = 1 + 4;
+    // Флаг записи: после длины записан момент постановки в очередь для Span
+    private static final byte TIMED = 1;
+    // Длина записи для null-элемента
+    private static final int NULL_LENGTH = -1;
+    // Заместитель null в ArrayDeque, который не принимает null
+    private static final Object NULL = new Object();
+
+    // Элементы, хранящиеся в памяти
+    private final ArrayDeque<Object> memory = new ArrayDeque<>();
+    // Максимальное число элементов в памяти, после которого начинается выгрузка на диск
+    private final int memoryThreshold;
+    // Сериализатор элементов; null, если выгрузка отключена
+    private final Serializer<T> serializer;
+    // Размер одного сегментного файла
+    private final int segmentSize;
+    // Сегменты на диске от старых к новым: читается первый, запись идёт в последний
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    // Количество элементов на диске
+    private long spilled;
+    // Очередь закрыта: новые элементы отбрасываются, сегменты не создаются
+    private boolean closed;
+    // Снимок трассировки последнего извлечённого элемента
+    private TraceContext polledContext;
+
+    /**
+     * @param memoryThreshold максимальное число элементов в памяти
+     * @param serializer сериализатор для выгрузки; null — очередь только в памяти
+     */
+    SpillQueue(int memoryThreshold, Serializer<T> serializer) {
+        this(memoryThreshold, serializer, SEGMENT_SIZE);
+    }
+
+    /**
+     * @param memoryThreshold максимальное число элементов в памяти
+     * @param serializer сериализатор для выгрузки; null — очередь только в памяти
+     * @param segmentSize размер одного сегментного файла в байтах
+     */
+    SpillQueue(int memoryThreshold, Serializer<T> serializer, int segmentSize) {
+        this.memoryThreshold = serializer == null ? Integer.MAX_VALUE : memoryThreshold;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Добавляет элемент без снимка трассировки в конец очереди.
+     * @param item элемент
+     * @throws IOException если не удалось записать элемент в сегментный файл
+     */
+    void offer(T item) throws IOException {
+        offer(item, null);
+    }
+
+    /**
+     * Добавляет элемент в конец очереди. После close() ничего не делает:
+     * подписка уже отменена или завершена, и элемент никому не нужен.
+     * @param item элемент
+     * @param context снимок трассировки элемента или null
+     * @throws IOException если не удалось записать элемент в сегментный файл
+     */
+    synchronized void offer(T item, TraceContext context) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (spilled == 0 && memory.size() < memoryThreshold) {
+            Object stored = item == null ? NULL : item;
+            memory.offer(context == null ? stored : new Traced(stored, context));
+            return;
+        }
+        byte[] data = item == null ? null : serializer.serialize(item);
+        int length = data == null ? NULL_LENGTH : data.length;
+        // Контекст ContextPropagator на диск не пишется — только момент постановки для Span
+        boolean timed = context != null && context.recordsSpan();
+        int size = RECORD_HEADER + (timed ? 8 : 0) + Math.max(length, 0);
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writer.remaining() < size) {
+            // Запись, большая сегмента, получает собственный сегмент своего размера
+            tail = new Segment(Math.max(segmentSize, size));
+            segments.offerLast(tail);
+        }
+        tail.writer.put(timed ? TIMED : 0);
+        tail.writer.putInt(length);
+        if (timed) {
+            tail.writer.putLong(context.capturedNanos());
+        }
+        if (data != null) {
+            tail.writer.put(data);
+        }
+        spilled++;
+    }
+
+    /**
+     * @return true, если в очереди нет элементов ни в памяти, ни на диске
+     */
+    synchronized boolean isEmpty() {
+        return memory.isEmpty() && spilled == 0;
+    }
+
+    /**
+     * Извлекает элемент из начала очереди. Вызывается только для непустой очереди.
+     * Снимок трассировки элемента затем доступен через {@link #polledContext()}.
+     * @return следующий элемент
+     * @throws IOException если не удалось десериализовать элемент
+     */
+    @SuppressWarnings("unchecked")
+    synchronized T poll() throws IOException {
+        if (!memory.isEmpty()) {
+            Object item = memory.poll();
+            if (item instanceof Traced) {
+                Traced traced = (Traced) item;
+                polledContext = traced.context;
+                item = traced.item;
+            } else {
+                polledContext = null;
+            }
+            return item == NULL ? null : (T) item;
+        }
+        Segment head = segments.peekFirst();
+        byte flags = head.reader.get();
+        int length = head.reader.getInt();
+        polledContext = flags == TIMED ? Tracing.resume(head.reader.getLong()) : null;
+        byte[] data = null;
+        if (length != NULL_LENGTH) {
+            data = new byte[length];
+            head.reader.get(data);
+        }
+        spilled--;
+        if (head.reader.position() == head.writer.position()) {
+            if (head == segments.peekLast()) {
+                // Сегмент, в который идёт запись, прочитан — пишем в него заново с начала
+                head.writer.clear();
+                head.reader.clear();
+            } else {
+                segments.pollFirst();
+                head.delete();
+            }
+        }
+        return data == null ? null : serializer.deserialize(data);
+    }
+
+    /**
+     * @return снимок трассировки элемента, извлечённого последним вызовом poll, или null.
+     * Для элемента, прочитанного с диска, — снимок только для Span, без контекста ContextPropagator.
+     */
+    synchronized TraceContext polledContext() {
+        return polledContext;
+    }
+
+    /**
+     * @return число сегментных файлов на диске
+     */
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Освобождает очередь: очищает память и удаляет все сегментные файлы.
+     */
+    synchronized void close() {
+        closed = true;
+        memory.clear();
+        spilled = 0;
+        polledContext = null;
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Элемент в памяти вместе со снимком трассировки.
+     */
+    private static final class Traced {
+        private final Object item;
+        private final TraceContext context;
+
+        Traced(Object item, TraceContext context) {
+            this.item = item;
+            this.context = context;
+        }
+    }
+
+    /**
+     * Segment — сегментный файл фиксированного размера, целиком отображённый в память.
+     * Канал закрывается сразу после отображения; память отображения освобождается сборщиком мусора.
+     */
+    private static final class Segment {
+        private final Path file;
+        // Позиция записи — конец записанных данных
+        private final MappedByteBuffer writer;
+        // Позиция чтения — начало непрочитанных данных (та же память, что у writer)
+        private final ByteBuffer reader;
+
+        Segment(int size) throws IOException {
+            file = Files.createTempFile("rx-spill-", ".seg");
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            writer = buffer;
+            reader = buffer.duplicate();
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Файл во временном каталоге; не удалось удалить — оставляем ОС
+            }
+        }
+    }
+}
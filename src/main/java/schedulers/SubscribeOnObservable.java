@@ -1,8 +1,10 @@
 package schedulers;
 
 import core.Disposable;
+import core.EmptyDisposable;
 import core.Observable;
 import core.Observer;
+import tracing.Tracing;
 
 /**
  * Observable-обёртка, реализующая оператор subscribeOn.
@@ -14,6 +16,8 @@ public class SubscribeOnObservable<T> extends Observable<T> {
     private final Observable<T> source;
     // Scheduler, в котором будет выполняться подписка
     private final Scheduler scheduler;
+    // Имя стадии для трассировки; строится при первой трассируемой подписке
+    private volatile String stage;
 
     /**
      * Конструктор. Принимает исходный Observable и Scheduler, в котором будет происходить подписка.
@@ -34,18 +38,23 @@ public class SubscribeOnObservable<T> extends Observable<T> {
      */
     @Override
     public Disposable subscribe(Observer<? super T> observer) {
-        // Выполняем подписку в Scheduler (например, в другом потоке)
-        scheduler.execute(() -> source.subscribe(observer));
-        // Возвращаем Disposable-заглушку (отмена не реализована для асинхронной задачи)
-        return new Disposable() {
-            @Override
-            public void dispose() {
-                // Здесь можно реализовать отмену, если требуется
-            }
-            @Override
-            public boolean isDisposed() {
-                return false;
-            }
-        };
+        // Выполняем подписку в Scheduler (например, в другом потоке), перенося контекст трассировки
+        Runnable task = () -> source.subscribe(observer);
+        scheduler.execute(Tracing.isActive() ? Tracing.wrap(stage(), task) : task);
+        // Возвращаем общую Disposable-заглушку (отмена не реализована для асинхронной задачи)
+        return EmptyDisposable.INSTANCE;
+    }
+
+    /**
+     * @return имя стадии для Span; строится только на пути трассировки
+     */
+    private String stage() {
+        String name = stage;
+        if (name == null) {
+            // Гонка безвредна: все потоки построят одинаковую строку
+            name = "subscribeOn(" + scheduler.getClass().getSimpleName() + ")";
+            stage = name;
+        }
+        return name;
     }
 }
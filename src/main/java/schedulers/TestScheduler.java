@@ -0,0 +1,124 @@
+package schedulers;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestScheduler — Scheduler с виртуальным временем для детерминированных тестов.
+ * Задачи не выполняются сами: они ставятся в очередь и запускаются в текущем потоке
+ * только при вызове triggerActions или advanceTimeBy/advanceTimeTo.
+ * Задачи с одинаковым временем выполняются в порядке планирования.
+ */
+public class TestScheduler implements Scheduler {
+    // Очередь задач, упорядоченная по времени запуска, затем по порядку планирования
+    private final PriorityQueue<TimedTask> queue = new PriorityQueue<>();
+    // Текущее виртуальное время в наносекундах
+    private long time;
+    // Счётчик порядка планирования для задач с одинаковым временем
+    private long counter;
+
+    /**
+     * Планирует задачу на текущий момент виртуального времени.
+     * Задача будет выполнена при следующем triggerActions или продвижении времени.
+     * @param task задача, которую нужно выполнить
+     */
+    @Override
+    public void execute(Runnable task) {
+        schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Планирует задачу с задержкой относительно текущего виртуального времени.
+     * @param task задача
+     * @param delay задержка
+     * @param unit единица измерения задержки
+     */
+    public synchronized void schedule(Runnable task, long delay, TimeUnit unit) {
+        queue.offer(new TimedTask(time + unit.toNanos(Math.max(0, delay)), counter++, task));
+    }
+
+    /**
+     * @param unit единица измерения результата
+     * @return текущее виртуальное время
+     */
+    public synchronized long now(TimeUnit unit) {
+        return unit.convert(time, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Продвигает виртуальное время на delay и выполняет все задачи, время которых наступило.
+     * @param delay величина сдвига
+     * @param unit единица измерения сдвига
+     */
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        long target;
+        synchronized (this) {
+            target = time + unit.toNanos(delay);
+        }
+        advanceTimeTo(target, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Продвигает виртуальное время до момента delayTime и выполняет все задачи, время которых наступило.
+     * @param delayTime момент виртуального времени
+     * @param unit единица измерения момента
+     */
+    public void advanceTimeTo(long delayTime, TimeUnit unit) {
+        runUntil(unit.toNanos(delayTime));
+    }
+
+    /**
+     * Выполняет все задачи, запланированные на текущий момент или раньше, не сдвигая время.
+     */
+    public void triggerActions() {
+        long target;
+        synchronized (this) {
+            target = time;
+        }
+        runUntil(target);
+    }
+
+    /**
+     * Выполняет задачи по порядку до момента target (включительно), затем устанавливает время в target.
+     * Задачи, запланированные во время выполнения других задач, тоже выполняются, если их время наступило.
+     */
+    private void runUntil(long target) {
+        for (;;) {
+            TimedTask next;
+            synchronized (this) {
+                next = queue.peek();
+                if (next == null || next.time > target) {
+                    time = Math.max(time, target);
+                    return;
+                }
+                queue.poll();
+                time = Math.max(time, next.time);
+            }
+            // Задача выполняется вне блокировки, чтобы она могла планировать новые задачи
+            next.task.run();
+        }
+    }
+
+    /**
+     * Задача с моментом запуска в виртуальном времени.
+     */
+    private static final class TimedTask implements Comparable<TimedTask> {
+        final long time;
+        final long order;
+        final Runnable task;
+
+        TimedTask(long time, long order, Runnable task) {
+            this.time = time;
+            this.order = order;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(TimedTask other) {
+            if (time != other.time) {
+                return Long.compare(time, other.time);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package schedulers;
+
+import java.util.ArrayDeque;
+
+/**
+ * TrampolineScheduler — реализация Scheduler, выполняющая задачи в текущем потоке.
+ * Не создаёт ни одного потока. Если задача планируется изнутри другой задачи,
+ * она ставится в очередь текущего потока и выполняется после завершения текущей,
+ * что избавляет от глубокой рекурсии и сохраняет порядок FIFO.
+ * Если задача выбрасывает исключение, остальные задачи очереди всё равно выполняются,
+ * а первое исключение пробрасывается вызывающему коду после опустошения очереди.
+ */
+public class TrampolineScheduler implements Scheduler {
+    // Очередь задач текущего потока; null, если в этом потоке сейчас не выполняется ни одна задача
+    private static final ThreadLocal<ArrayDeque<Runnable>> QUEUE = new ThreadLocal<>();
+
+    /**
+     * Выполняет задачу в текущем потоке. Вложенные задачи откладываются до завершения текущей.
+     * @param task задача, которую нужно выполнить
+     */
+    @Override
+    public void execute(Runnable task) {
+        ArrayDeque<Runnable> queue = QUEUE.get();
+        if (queue != null) {
+            // Уже находимся внутри задачи этого потока — откладываем выполнение
+            queue.offer(task);
+            return;
+        }
+        queue = new ArrayDeque<>();
+        QUEUE.set(queue);
+        // Исключение одной задачи не должно терять уже поставленные в очередь:
+        // дренируем очередь до конца и только потом пробрасываем первую ошибку
+        Throwable error = null;
+        Runnable next = task;
+        try {
+            while (next != null) {
+                try {
+                    next.run();
+                } catch (Throwable t) {
+                    if (error == null) {
+                        error = t;
+                    } else {
+                        error.addSuppressed(t);
+                    }
+                }
+                next = queue.poll();
+            }
+        } finally {
+            QUEUE.remove();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new RuntimeException(error);
+        }
+    }
+}
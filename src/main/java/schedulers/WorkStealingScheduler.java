@@ -0,0 +1,180 @@
+package schedulers;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * WorkStealingScheduler — реализация Scheduler на основе ForkJoinPool (work stealing).
+ * С подсказкой affinity задача, запланированная из задачи этого Scheduler в его же воркере
+ * (например, дренаж следующей стадии observeOn), откладывается и выполняется тем же воркером,
+ * как только текущая задача вернётся или observeOn доставит текущий элемент, — элемент проходит
+ * соседние стадии на одном ядре, и данные остаются в его кэше. Отложенная задача не выполняется
+ * внутри вызова execute, поэтому блокировки вызывающего кода (например, synchronized в flatMap)
+ * к этому моменту уже отпущены.
+ * Признак нагрузки — backlog observeOn: если у стадии, передающей элемент дальше, в очереди есть
+ * ещё элементы, или в локальной очереди воркера уже есть задачи, задача кладётся в эту очередь,
+ * откуда её заберут (украдут) простаивающие воркеры, и стадии работают параллельно, конвейером.
+ * Задачи из посторонних потоков всегда отправляются в общую очередь пула.
+ * Исключение задачи передаётся в UncaughtExceptionHandler потока, а не теряется.
+ * Пул работает в FIFO-режиме (asyncMode), потоки создаются по мере необходимости и являются daemon.
+ */
+public class WorkStealingScheduler implements Scheduler {
+    // Состояние воркера: отложенные задачи и признак backlog
+    private static final ThreadLocal<WorkerState> WORKER = ThreadLocal.withInitial(WorkerState::new);
+
+    // Пул с work stealing
+    private final ForkJoinPool pool;
+    // Подсказка: планировать задачи из воркеров пула в их локальные очереди
+    private final boolean affinity;
+
+    /**
+     * Создаёт Scheduler с собственным пулом по числу процессоров и включённой affinity.
+     */
+    public WorkStealingScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Создаёт Scheduler с собственным пулом.
+     * @param parallelism число воркеров пула
+     * @param affinity true — задачи из воркеров пула ставятся в их локальные очереди
+     */
+    public WorkStealingScheduler(int parallelism, boolean affinity) {
+        this(new ForkJoinPool(parallelism, WorkStealingScheduler::newWorker, null, true), affinity);
+    }
+
+    /**
+     * Создаёт Scheduler поверх готового ForkJoinPool (жизненным циклом пула управляет вызывающий код).
+     * @param pool пул с work stealing
+     * @param affinity true — задачи из воркеров пула ставятся в их локальные очереди
+     */
+    public WorkStealingScheduler(ForkJoinPool pool, boolean affinity) {
+        this.pool = pool;
+        this.affinity = affinity;
+    }
+
+    /**
+     * Планирует задачу. Из задачи этого Scheduler при affinity: без нагрузки — отложить до конца
+     * текущей задачи или элемента на этом же воркере, под нагрузкой — в локальную очередь воркера.
+     * Из остальных потоков — в общую очередь пула.
+     * @param task задача, которую нужно выполнить
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!affinity) {
+            pool.execute(task);
+        } else if (isOwnWorker(Thread.currentThread())) {
+            WorkerState state = WORKER.get();
+            if (state.running == this && !state.backlog && ForkJoinTask.getQueuedTaskCount() == 0) {
+                // Воркер не перегружен — остаёмся на нём
+                state.deferred.offer(task);
+            } else {
+                // fork() кладёт задачу в очередь текущего воркера, откуда её могут украсть другие воркеры
+                ForkJoinTask.adapt(() -> run(task)).fork();
+            }
+        } else {
+            pool.execute(() -> run(task));
+        }
+    }
+
+    /**
+     * @return true, если включена подсказка affinity
+     */
+    boolean hasAffinity() {
+        return affinity;
+    }
+
+    /**
+     * Отмечает, есть ли у стадии, которая сейчас передаёт элемент дальше, ещё элементы в очереди.
+     * Вызывается observeOn вокруг доставки элемента в потоке-воркере.
+     * @param backlog true — стадия не успевает, следующую стадию лучше отдать другому воркеру
+     * @return прежнее значение, которое нужно вернуть после доставки
+     */
+    static boolean setBacklog(boolean backlog) {
+        WorkerState state = WORKER.get();
+        boolean previous = state.backlog;
+        state.backlog = backlog;
+        return previous;
+    }
+
+    /**
+     * Выполняет задачи, отложенные в текущем воркере. Вызывается observeOn после доставки элемента,
+     * чтобы следующая стадия обработала его сразу, а не после всей пачки.
+     */
+    void runDeferred() {
+        WorkerState state = WORKER.get();
+        if (state.running == this) {
+            runDeferred(state);
+        }
+    }
+
+    /**
+     * Выполняет задачу в воркере, а затем — задачи, отложенные ею.
+     */
+    private void run(Runnable task) {
+        WorkerState state = WORKER.get();
+        WorkStealingScheduler previous = state.running;
+        state.running = this;
+        try {
+            runSafely(task);
+            runDeferred(state);
+        } finally {
+            state.running = previous;
+        }
+    }
+
+    private static void runDeferred(WorkerState state) {
+        Runnable task;
+        while ((task = state.deferred.poll()) != null) {
+            runSafely(task);
+        }
+    }
+
+    /**
+     * @return пул, в котором выполняются задачи
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Выполняет задачу, передавая исключение в UncaughtExceptionHandler потока, как pool.execute:
+     * иначе ForkJoinTask сохранил бы его в себе, и никто бы его не увидел.
+     */
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+
+    private boolean isOwnWorker(Thread thread) {
+        return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool;
+    }
+
+    /**
+     * Состояние потока-воркера.
+     */
+    private static final class WorkerState {
+        // Задачи, отложенные до конца текущей задачи или элемента
+        private final ArrayDeque<Runnable> deferred = new ArrayDeque<>();
+        // Scheduler, задачу которого сейчас выполняет поток; null вне задач
+        private WorkStealingScheduler running;
+        // У стадии, передающей элемент дальше, в очереди есть ещё элементы
+        private boolean backlog;
+    }
+
+    /**
+     * Фабрика воркеров: именованные daemon-потоки, как у остальных Scheduler.
+     */
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("RxWorkStealingPool-" + worker.getPoolIndex());
+        worker.setDaemon(true);
+        return worker;
+    }
+}
@@ -0,0 +1,32 @@
+package tracing;
+
+/**
+ * ContextPropagator — SPI для переноса контекста (MDC, trace ID и т.п.) между потоками.
+ * Для каждой задачи, передаваемой операторами subscribeOn/observeOn в Scheduler,
+ * capture вызывается в потоке, который планирует задачу, а restore/reset — в потоке,
+ * который её выполняет, до и после выполнения.
+ * Реализации регистрируются через {@link Tracing#register(ContextPropagator)}.
+ */
+public interface ContextPropagator {
+    /**
+     * Снимает контекст текущего потока. Вызывается при планировании задачи.
+     *
+     * @return снимок контекста (может быть null)
+     */
+    Object capture();
+
+    /**
+     * Устанавливает снимок контекста в текущем потоке перед выполнением задачи.
+     *
+     * @param context снимок, полученный методом capture
+     * @return прежний контекст потока, который будет передан в reset
+     */
+    Object restore(Object context);
+
+    /**
+     * Возвращает потоку прежний контекст после выполнения задачи.
+     *
+     * @param previous значение, возвращённое методом restore
+     */
+    void reset(Object previous);
+}
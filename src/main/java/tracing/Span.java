@@ -0,0 +1,69 @@
+package tracing;
+
+/**
+ * Span — замер одной задачи или одного элемента стадии конвейера: сколько он ждал
+ * в очереди и сколько обрабатывался. Записывается в кольцевой буфер {@link Tracing}.
+ */
+public final class Span {
+    // Порядковый номер записи в кольцевом буфере
+    final long sequence;
+    // Имя стадии, например "observeOn(SingleThreadScheduler)"
+    private final String stage;
+    // Имя потока, выполнившего задачу
+    private final String thread;
+    // Момент начала выполнения (System.nanoTime)
+    private final long startNanos;
+    // Время от планирования до начала выполнения
+    private final long waitNanos;
+    // Время выполнения задачи
+    private final long processNanos;
+
+    Span(long sequence, String stage, String thread, long startNanos, long waitNanos, long processNanos) {
+        this.sequence = sequence;
+        this.stage = stage;
+        this.thread = thread;
+        this.startNanos = startNanos;
+        this.waitNanos = waitNanos;
+        this.processNanos = processNanos;
+    }
+
+    /**
+     * @return имя стадии конвейера
+     */
+    public String stage() {
+        return stage;
+    }
+
+    /**
+     * @return имя потока, выполнившего задачу
+     */
+    public String thread() {
+        return thread;
+    }
+
+    /**
+     * @return момент начала выполнения (System.nanoTime)
+     */
+    public long startNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return время ожидания в очереди Scheduler, нс
+     */
+    public long waitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * @return время выполнения задачи, нс
+     */
+    public long processNanos() {
+        return processNanos;
+    }
+
+    @Override
+    public String toString() {
+        return stage + " [" + thread + "] wait=" + waitNanos / 1_000 + "us process=" + processNanos / 1_000 + "us";
+    }
+}
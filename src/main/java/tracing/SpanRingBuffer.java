@@ -0,0 +1,48 @@
+package tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SpanRingBuffer — кольцевой буфер фиксированной ёмкости для последних Span.
+ * Запись lock-free: каждый писатель получает свой порядковый номер через счётчик,
+ * слот = номер % capacity, старые записи перезаписываются. Каждый Span хранит свой номер,
+ * поэтому снимок пропускает слоты, в которых ещё лежит запись с прошлого круга.
+ */
+final class SpanRingBuffer {
+    private final AtomicReferenceArray<Span> slots;
+    // Общее число выданных порядковых номеров
+    private final AtomicLong index = new AtomicLong();
+
+    SpanRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(String stage, String thread, long startNanos, long waitNanos, long processNanos) {
+        long i = index.getAndIncrement();
+        slots.set((int) (i % slots.length()), new Span(i, stage, thread, startNanos, waitNanos, processNanos));
+    }
+
+    /**
+     * @return записанные Span от старых к новым (не более capacity последних);
+     *         слоты, запись в которые ещё не завершена, пропускаются
+     */
+    List<Span> snapshot() {
+        long end = index.get();
+        int capacity = slots.length();
+        long start = Math.max(0, end - capacity);
+        List<Span> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            Span span = slots.get((int) (i % capacity));
+            if (span != null && span.sequence == i) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package tracing;
+
+/**
+ * TraceContext — снимок контекста трассировки, снятый в момент планирования задачи
+ * или постановки элемента в очередь. Одноразовый: в потоке-исполнителе вызывается
+ * {@link #enter()} перед обработкой и {@link #exit(String)} после неё.
+ * Получается через {@link Tracing#capture()}.
+ */
+public final class TraceContext {
+    private final ContextPropagator[] propagators;
+    // Снимки контекста каждого ContextPropagator
+    private final Object[] contexts;
+    // Буфер Span; null, если запись Span выключена
+    private final SpanRingBuffer buffer;
+    // Момент снятия снимка (начало ожидания)
+    private final long capturedNanos;
+    // Прежний контекст потока-исполнителя, заполняется в enter
+    private Object[] previous;
+    // Момент начала обработки, заполняется в enter
+    private long startNanos;
+
+    TraceContext(ContextPropagator[] propagators, Object[] contexts, SpanRingBuffer buffer, long capturedNanos) {
+        this.propagators = propagators;
+        this.contexts = contexts;
+        this.buffer = buffer;
+        this.capturedNanos = capturedNanos;
+    }
+
+    /**
+     * @return true, если при выходе будет записан Span
+     */
+    public boolean recordsSpan() {
+        return buffer != null;
+    }
+
+    /**
+     * @return момент снятия снимка по System.nanoTime; 0, если запись Span выключена
+     */
+    public long capturedNanos() {
+        return capturedNanos;
+    }
+
+    /**
+     * Устанавливает снятый контекст в текущем потоке и начинает замер обработки.
+     */
+    public void enter() {
+        startNanos = buffer == null ? 0 : System.nanoTime();
+        previous = new Object[propagators.length];
+        for (int i = 0; i < propagators.length; i++) {
+            previous[i] = propagators[i].restore(contexts[i]);
+        }
+    }
+
+    /**
+     * Возвращает потоку прежний контекст и, если включено, записывает Span.
+     * @param stage имя стадии для Span
+     */
+    public void exit(String stage) {
+        // Возвращаем контекст в обратном порядке, как при вложенных try/finally
+        for (int i = propagators.length - 1; i >= 0; i--) {
+            propagators[i].reset(previous[i]);
+        }
+        if (buffer != null) {
+            long end = System.nanoTime();
+            buffer.add(stage, Thread.currentThread().getName(), startNanos,
+                    startNanos - capturedNanos, end - startNanos);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package tracing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracing — точка подключения трассировки для операторов, переключающих потоки.
+ * Хранит зарегистрированные {@link ContextPropagator} и, если включено, пишет
+ * Span (ожидание в очереди и обработка) в кольцевой буфер.
+ * Контекст переносят операторы, переключающие потоки: subscribeOn — для задачи подписки,
+ * observeOn — для каждого элемента и терминального события. Задачи, которые код передаёт
+ * в Scheduler.execute напрямую, не оборачиваются, чтобы дренаж observeOn не учитывался дважды.
+ * Пока нет ни одного ContextPropagator и Span выключены, {@link #wrap} возвращает задачу как есть,
+ * поэтому по умолчанию трассировка не стоит ничего, кроме чтения двух volatile-полей.
+ */
+public final class Tracing {
+    private static final ContextPropagator[] NONE = new ContextPropagator[0];
+
+    // Зарегистрированные ContextPropagator; массив заменяется целиком при изменении (copy-on-write)
+    private static volatile ContextPropagator[] propagators = NONE;
+    // Буфер Span; null, если запись Span выключена
+    private static volatile SpanRingBuffer spans;
+
+    private Tracing() {
+    }
+
+    /**
+     * Регистрирует ContextPropagator для всех последующих задач.
+     * @param propagator реализация переноса контекста
+     */
+    public static synchronized void register(ContextPropagator propagator) {
+        ContextPropagator[] current = propagators;
+        ContextPropagator[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = propagator;
+        propagators = updated;
+    }
+
+    /**
+     * Отменяет регистрацию ContextPropagator.
+     * @param propagator ранее зарегистрированная реализация
+     */
+    public static synchronized void unregister(ContextPropagator propagator) {
+        ContextPropagator[] current = propagators;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == propagator) {
+                ContextPropagator[] updated = new ContextPropagator[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                propagators = updated.length == 0 ? NONE : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Включает запись Span в новый кольцевой буфер указанной ёмкости.
+     * @param capacity сколько последних Span хранить
+     */
+    public static void enableSpans(int capacity) {
+        spans = new SpanRingBuffer(capacity);
+    }
+
+    /**
+     * Выключает запись Span и освобождает буфер.
+     */
+    public static void disableSpans() {
+        spans = null;
+    }
+
+    /**
+     * Возвращает записанные Span от старых к новым.
+     * @return снимок буфера; пустой список, если запись Span выключена
+     */
+    public static List<Span> dumpSpans() {
+        SpanRingBuffer buffer = spans;
+        return buffer == null ? Collections.<Span>emptyList() : buffer.snapshot();
+    }
+
+    /**
+     * @return true, если зарегистрирован хотя бы один ContextPropagator или включена запись Span
+     */
+    public static boolean isActive() {
+        return propagators.length != 0 || spans != null;
+    }
+
+    /**
+     * Снимает контекст текущего потока и, если включено, запоминает момент начала ожидания для Span.
+     * Вызывается в потоке, который планирует задачу или ставит элемент в очередь.
+     *
+     * @return снимок контекста или null, если трассировка не используется
+     */
+    public static TraceContext capture() {
+        ContextPropagator[] current = propagators;
+        SpanRingBuffer buffer = spans;
+        if (current.length == 0 && buffer == null) {
+            return null;
+        }
+        Object[] contexts = new Object[current.length];
+        for (int i = 0; i < current.length; i++) {
+            contexts[i] = current[i].capture();
+        }
+        return new TraceContext(current, contexts, buffer, buffer == null ? 0 : System.nanoTime());
+    }
+
+    /**
+     * Восстанавливает снимок только для Span по сохранённому моменту начала ожидания —
+     * для элементов, которые хранились вне кучи и не сохранили контекст ContextPropagator.
+     * Вызывается в потоке-исполнителе.
+     *
+     * @param capturedNanos момент начала ожидания, см. {@link TraceContext#capturedNanos()}
+     * @return снимок без контекста ContextPropagator или null, если запись Span выключена
+     */
+    public static TraceContext resume(long capturedNanos) {
+        SpanRingBuffer buffer = spans;
+        if (buffer == null) {
+            return null;
+        }
+        return new TraceContext(NONE, new Object[0], buffer, capturedNanos);
+    }
+
+    /**
+     * Оборачивает задачу перед передачей в Scheduler: снимает контекст текущего потока
+     * и восстанавливает его вокруг выполнения задачи, записывая Span.
+     * Вызывается в потоке, который планирует задачу.
+     *
+     * @param stage имя стадии для Span
+     * @param task задача
+     * @return обёрнутая задача или сама task, если трассировка не используется
+     */
+    public static Runnable wrap(String stage, Runnable task) {
+        TraceContext context = capture();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            context.enter();
+            try {
+                task.run();
+            } finally {
+                context.exit(stage);
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+import core.Observable;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.Scheduler;
+import schedulers.Schedulers;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AssemblyBenchmark — замер стоимости "холодного пути": создания Scheduler и сборки цепочек
+ * операторов до первой подписки. Печатает время, прирост занятой памяти и число живых потоков
+ * для разделяемых и ленивых Scheduler и для эталона, повторяющего прежние конструкторы
+ * (ExecutorService создаётся сразу, но, как и раньше, без потоков до первой задачи).
+ * Прежние Scheduler тоже не запускали потоки при сборке, поэтому выигрыш здесь — только объекты
+ * пулов; основной эффект изменений — общие пулы вместо пула на каждый new XxxScheduler()
+ * и daemon-потоки, которые не мешают завершению JVM.
+ * Запуск: java -cp target/classes:target/test-classes AssemblyBenchmark
+ */
+public class AssemblyBenchmark {
+    private static final int PIPELINES = 200;
+    // Пулы эталонного сценария; останавливаются после замера
+    private static final List<ExecutorService> EAGER = new ArrayList<>();
+
+    public static void main(String[] args) {
+        // Прогрев, чтобы замеры не включали загрузку классов
+        lazyPerPipeline();
+        sharedSchedulers();
+
+        measure("Schedulers.io()/single()", AssemblyBenchmark::sharedSchedulers);
+        measure("new XxxScheduler() (lazy)", AssemblyBenchmark::lazyPerPipeline);
+        measure("eager ExecutorService (old ctors)", AssemblyBenchmark::eagerPerPipeline);
+        for (ExecutorService executor : EAGER) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sharedSchedulers() {
+        for (int i = 0; i < PIPELINES; i++) {
+            assemble(Schedulers.io(), Schedulers.single());
+        }
+    }
+
+    private static void lazyPerPipeline() {
+        for (int i = 0; i < PIPELINES; i++) {
+            Scheduler observeOn = i % 2 == 0 ? new SingleThreadScheduler() : new ComputationScheduler();
+            assemble(new IOThreadScheduler(), observeOn);
+        }
+    }
+
+    private static void eagerPerPipeline() {
+        for (int i = 0; i < PIPELINES; i++) {
+            ExecutorService io = Executors.newCachedThreadPool();
+            ExecutorService single = Executors.newSingleThreadExecutor();
+            EAGER.add(io);
+            EAGER.add(single);
+            assemble(io::submit, single::submit);
+        }
+    }
+
+    private static Observable<String> assemble(Scheduler subscribeOn, Scheduler observeOn) {
+        return Observable.just("a", "bb", "ccc")
+                .map(String::toUpperCase)
+                .filter(s -> s.length() > 1)
+                .subscribeOn(subscribeOn)
+                .observeOn(observeOn);
+    }
+
+    private static void measure(String name, Runnable scenario) {
+        System.gc();
+        int threadsBefore = Thread.activeCount();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        scenario.run();
+        long micros = (System.nanoTime() - start) / 1_000;
+        long kb = Math.max(0, usedHeap() - heapBefore) / 1024;
+        int threads = Math.max(0, Thread.activeCount() - threadsBefore);
+        System.out.printf("%-35s %8d us  %8d KB  +%d threads%n", name, micros, kb, threads);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,199 @@
+import core.Observable;
+import core.Observer;
+import core.TestObserver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import schedulers.Schedulers;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Стресс-тесты конкурентных путей эмиссии в духе jcstress: несколько "акторов" многократно
+ * стартуют одновременно, после каждой итерации проверяется, что сигналы не потеряны
+ * и не продублированы. Используются для проверки lock-free переработок CreateEmitter и flatMap.
+ * Окно гонки внутри CreateEmitter — несколько инструкций; на одном CPU снаружи его не расширить,
+ * поэтому способность харнесса ловить check-then-act гонку проверяется отдельным тестом
+ * на заведомо неатомарном терминальном флаге с искусственно расширенным окном.
+ */
+public class ConcurrencyStressTest {
+    private static final int ITERATIONS = 10_000;
+    // Число акторов в вариантах "много акторов"
+    private static final int MANY_ACTORS = 8;
+    // Длительность вариантов "много акторов"
+    private static final long WINDOW_MILLIS = 1_000;
+
+    private static ExecutorService actors;
+
+    @BeforeAll
+    public static void startActors() {
+        actors = Executors.newFixedThreadPool(MANY_ACTORS);
+    }
+
+    @AfterAll
+    public static void stopActors() {
+        actors.shutdownNow();
+    }
+
+    @Test
+    public void testCreateEmitterTerminalRace() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.<Integer>create(emitter::set).subscribe(observer);
+
+            race(() -> emitter.get().onComplete(),
+                    () -> emitter.get().onError(new IllegalStateException()));
+
+            observer.assertTerminated();
+        }
+    }
+
+    @Test
+    public void testCreateEmitterCompleteVersusComplete() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.<Integer>create(emitter::set).subscribe(observer);
+
+            race(() -> emitter.get().onComplete(), () -> emitter.get().onComplete());
+
+            observer.assertNoErrors().assertComplete();
+        }
+    }
+
+    @Test
+    public void testCreateEmitterManyActorsTerminalRace() throws Exception {
+        long deadline = System.currentTimeMillis() + WINDOW_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.<Integer>create(emitter::set).subscribe(observer);
+
+            Runnable[] terminals = new Runnable[MANY_ACTORS];
+            for (int a = 0; a < MANY_ACTORS; a++) {
+                terminals[a] = a % 2 == 0
+                        ? () -> emitter.get().onComplete()
+                        : () -> emitter.get().onError(new IllegalStateException());
+            }
+            race(terminals);
+
+            observer.assertTerminated();
+        }
+    }
+
+    @Test
+    public void testHarnessDetectsCheckThenActRace() throws Exception {
+        // Терминальный флаг в стиле прежнего CreateEmitter (проверка и запись не атомарны),
+        // окно между ними расширено yield — харнесс обязан увидеть дублирование
+        boolean detected = false;
+        long deadline = System.currentTimeMillis() + 5 * WINDOW_MILLIS;
+        while (!detected && System.currentTimeMillis() < deadline) {
+            AtomicInteger terminals = new AtomicInteger();
+            boolean[] done = new boolean[1];
+            Runnable naiveComplete = () -> {
+                if (!done[0]) {
+                    Thread.yield();
+                    done[0] = true;
+                    terminals.incrementAndGet();
+                }
+            };
+            Runnable[] racers = new Runnable[MANY_ACTORS];
+            for (int a = 0; a < MANY_ACTORS; a++) {
+                racers[a] = naiveComplete;
+            }
+            race(racers);
+            detected = terminals.get() > 1;
+        }
+        assertTrue(detected, "stress harness failed to expose a check-then-act race");
+    }
+
+    @Test
+    public void testFlatMapAsyncInnersNoLostOrDuplicatedSignals() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.range(0, 8)
+                    .flatMap(n -> Observable.range(n * 100, 100).subscribeOn(Schedulers.computation()))
+                    .subscribe(new Observer<Integer>() {
+                        @Override
+                        public void onNext(Integer item) {
+                            // Вызовы подписчика не должны пересекаться во времени
+                            if (inFlight.incrementAndGet() != 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            observer.onNext(item);
+                            inFlight.decrementAndGet();
+                        }
+                        @Override
+                        public void onError(Throwable t) { observer.onError(t); }
+                        @Override
+                        public void onComplete() { observer.onComplete(); }
+                    });
+
+            observer.awaitDone(5, TimeUnit.SECONDS)
+                    .assertNoErrors()
+                    .assertComplete()
+                    .assertValueCount(800);
+            assertEquals(0, overlaps.get());
+            assertEquals(800, distinct(observer.values()));
+        }
+    }
+
+    @Test
+    public void testObserveOnKeepsOrderAcrossThreads() {
+        for (int i = 0; i < 200; i++) {
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.range(0, 1_000)
+                    .subscribeOn(Schedulers.io())
+                    .observeOn(Schedulers.computation())
+                    .subscribe(observer);
+
+            observer.awaitDone(5, TimeUnit.SECONDS)
+                    .assertNoErrors()
+                    .assertComplete()
+                    .assertValueCount(1_000);
+            List<Integer> values = observer.values();
+            for (int j = 0; j < values.size(); j++) {
+                assertEquals(j, values.get(j).intValue());
+            }
+        }
+    }
+
+    /**
+     * Запускает акторов как можно более одновременно и ждёт завершения всех.
+     */
+    private static void race(Runnable... racers) throws Exception {
+        AtomicInteger ready = new AtomicInteger(racers.length);
+        Future<?>[] futures = new Future<?>[racers.length];
+        for (int i = 0; i < racers.length; i++) {
+            Runnable racer = racers[i];
+            futures[i] = actors.submit(() -> {
+                ready.decrementAndGet();
+                while (ready.get() != 0) {
+                    Thread.yield();
+                }
+                racer.run();
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int distinct(List<Integer> values) {
+        Set<Integer> set = new HashSet<>(values);
+        return set.size();
+    }
+}
@@ -1,6 +1,31 @@
+import core.Disposable;
 import core.Observable;
 import core.Observer;
+import core.ScalarSupplier;
+import core.Serializer;
+import core.TestObserver;
 import org.junit.jupiter.api.Test;
+import schedulers.Scheduler;
+import schedulers.Schedulers;
+import schedulers.TestScheduler;
+import schedulers.WorkStealingScheduler;
+import tracing.ContextPropagator;
+import tracing.Span;
+import tracing.Tracing;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ObservableTest {
@@ -20,5 +45,525 @@ public class ObservableTest {
                 });
         assertEquals("BBCCC", result.toString());
     }
-}
 
+    @Test
+    public void testSchedulersAreSharedAndDaemon() throws InterruptedException {
+        assertSame(Schedulers.io(), Schedulers.io());
+        assertSame(Schedulers.computation(), Schedulers.computation());
+        assertSame(Schedulers.single(), Schedulers.single());
+
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Schedulers.computation().execute(() -> {
+            worker.set(Thread.currentThread());
+            latch.countDown();
+        });
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(worker.get().isDaemon());
+    }
+
+    @Test
+    public void testTrampolineRunsOnCurrentThreadInOrder() {
+        List<String> order = new ArrayList<>();
+        Schedulers.trampoline().execute(() -> {
+            order.add("outer-start");
+            Schedulers.trampoline().execute(() -> order.add("inner"));
+            order.add("outer-end");
+        });
+        assertEquals(3, order.size());
+        assertEquals("outer-start", order.get(0));
+        assertEquals("outer-end", order.get(1));
+        assertEquals("inner", order.get(2));
+
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> observed = new AtomicReference<>();
+        Observable.just("a")
+                .subscribeOn(Schedulers.trampoline())
+                .subscribe(new Observer<String>() {
+                    @Override
+                    public void onNext(String item) { observed.set(Thread.currentThread()); }
+                    @Override
+                    public void onError(Throwable t) { fail(); }
+                    @Override
+                    public void onComplete() {}
+                });
+        assertSame(caller, observed.get());
+    }
+
+    @Test
+    public void testTrampolineDrainsQueueWhenTaskThrows() {
+        List<String> order = new ArrayList<>();
+        IllegalStateException error = assertThrows(IllegalStateException.class, () ->
+                Schedulers.trampoline().execute(() -> {
+                    Schedulers.trampoline().execute(() -> order.add("first"));
+                    Schedulers.trampoline().execute(() -> {
+                        throw new IllegalStateException("boom");
+                    });
+                    Schedulers.trampoline().execute(() -> order.add("second"));
+                }));
+        assertEquals("boom", error.getMessage());
+        assertEquals(Arrays.asList("first", "second"), order);
+    }
+
+    @Test
+    public void testSynchronousSources() {
+        assertEquals("1,2,3,C", collect(Observable.range(1, 3).map(String::valueOf)));
+        assertEquals("x,y,C", collect(Observable.fromIterable(Arrays.asList("x", "y"))));
+        assertEquals("a,b,C", collect(Observable.fromArray(new String[]{"a", "b"})));
+        assertEquals("C", collect(Observable.<String>empty()));
+        assertSame(Observable.empty(), Observable.empty());
+    }
+
+    @Test
+    public void testScalarChainCollapsesAtAssembly() {
+        AtomicReference<Integer> calls = new AtomicReference<>(0);
+        Observable<String> chain = Observable.just(2)
+                .map(i -> {
+                    calls.set(calls.get() + 1);
+                    return i * 21;
+                })
+                .map(String::valueOf);
+        assertTrue(chain instanceof ScalarSupplier);
+        assertEquals(0, calls.get());
+
+        assertEquals("42,C", collect(chain));
+        assertEquals("42!,C", collect(chain.flatMap(s -> Observable.just(s + "!"))));
+        assertEquals("C", collect(chain.filter(s -> s.isEmpty())));
+        assertEquals(3, calls.get());
+
+        assertEquals("E:boom", collect(Observable.just(1).map(i -> {
+            throw new IllegalStateException("boom");
+        })));
+    }
+
+    @Test
+    public void testObserveOnSpillsToDiskInOrder() throws InterruptedException {
+        AtomicInteger serialized = new AtomicInteger();
+        Serializer<Integer> serializer = new Serializer<Integer>() {
+            @Override
+            public byte[] serialize(Integer item) {
+                serialized.incrementAndGet();
+                return ByteBuffer.allocate(4).putInt(item).array();
+            }
+            @Override
+            public Integer deserialize(byte[] data) {
+                return ByteBuffer.wrap(data).getInt();
+            }
+        };
+        CountDownLatch stall = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        Observable.range(0, 10_000)
+                .observeOn(Schedulers.single(), 16, serializer)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        try {
+                            // Подписчик "зависает" на первом элементе, пока источник не выдаст всё
+                            stall.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        received.add(item);
+                    }
+                    @Override
+                    public void onError(Throwable t) { fail(t); }
+                    @Override
+                    public void onComplete() { finished.countDown(); }
+                });
+        stall.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(serialized.get() > 0);
+        assertEquals(10_000, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testSubscribeOnAndObserveOnWithTestScheduler() {
+        TestScheduler subscribeScheduler = new TestScheduler();
+        TestScheduler observeScheduler = new TestScheduler();
+        TestObserver<String> observer = new TestObserver<>();
+        Observable.just("a", "b")
+                .subscribeOn(subscribeScheduler)
+                .observeOn(observeScheduler)
+                .subscribe(observer);
+
+        observer.assertValueCount(0).assertNotTerminated();
+        subscribeScheduler.triggerActions();
+        observer.assertValueCount(0);
+        observeScheduler.triggerActions();
+        observer.assertValues("a", "b").assertComplete().assertNoErrors();
+        assertSame(Thread.currentThread(), observer.lastThread());
+    }
+
+    @Test
+    public void testTestSchedulerAdvancesVirtualTime() {
+        TestScheduler scheduler = new TestScheduler();
+        List<String> order = new ArrayList<>();
+        scheduler.schedule(() -> order.add("late"), 10, TimeUnit.SECONDS);
+        scheduler.schedule(() -> order.add("early"), 1, TimeUnit.SECONDS);
+        scheduler.execute(() -> order.add("now"));
+
+        scheduler.triggerActions();
+        assertEquals(Arrays.asList("now"), order);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("now", "early"), order);
+        assertEquals(5, scheduler.now(TimeUnit.SECONDS));
+        scheduler.advanceTimeTo(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("now", "early", "late"), order);
+    }
+
+    @Test
+    public void testTracingPropagatesContextAndRecordsSpans() throws InterruptedException {
+        ThreadLocal<String> traceId = new ThreadLocal<>();
+        ContextPropagator propagator = threadLocalPropagator(traceId);
+        Tracing.register(propagator);
+        Tracing.enableSpans(16);
+        try {
+            traceId.set("trace-1");
+            List<String> seen = new ArrayList<>();
+            TestObserver<String> observer = new TestObserver<String>() {
+                @Override
+                public void onNext(String item) {
+                    seen.add(item + "@" + traceId.get());
+                    super.onNext(item);
+                }
+            };
+            TestScheduler subscribeScheduler = new TestScheduler();
+            Observable.just("a")
+                    .subscribeOn(subscribeScheduler)
+                    .observeOn(Schedulers.single())
+                    .subscribe(observer);
+            // Подписка выполняется в другом "потоке" без контекста, он приходит только через Tracing
+            traceId.remove();
+            subscribeScheduler.triggerActions();
+            observer.awaitDone(5, TimeUnit.SECONDS).assertComplete();
+            assertEquals(Arrays.asList("a@trace-1"), seen);
+
+            // Span записывается после выполнения задачи — ждём, пока поток single освободится
+            CountDownLatch drained = new CountDownLatch(1);
+            Schedulers.single().execute(drained::countDown);
+            assertTrue(drained.await(5, TimeUnit.SECONDS));
+            List<Span> spans = Tracing.dumpSpans();
+            assertTrue(spans.stream().anyMatch(span -> span.stage().equals("subscribeOn(TestScheduler)")));
+            assertTrue(spans.stream().anyMatch(span -> span.stage().equals("observeOn(SingleThreadScheduler)")));
+        } finally {
+            traceId.remove();
+            Tracing.disableSpans();
+            Tracing.unregister(propagator);
+        }
+    }
+
+    @Test
+    public void testObserveOnRestoresContextPerItem() {
+        ThreadLocal<String> traceId = new ThreadLocal<>();
+        ContextPropagator propagator = threadLocalPropagator(traceId);
+        Tracing.register(propagator);
+        Tracing.enableSpans(16);
+        try {
+            TestScheduler scheduler = new TestScheduler();
+            List<String> seen = new ArrayList<>();
+            Observable.<String>create(emitter -> {
+                traceId.set("trace-1");
+                emitter.onNext("a");
+                traceId.set("trace-2");
+                emitter.onNext("b");
+                emitter.onComplete();
+            })
+                    .observeOn(scheduler)
+                    .subscribe(new Observer<String>() {
+                        @Override
+                        public void onNext(String item) { seen.add(item + "@" + traceId.get()); }
+                        @Override
+                        public void onError(Throwable t) { fail(t); }
+                        @Override
+                        public void onComplete() { seen.add("C@" + traceId.get()); }
+                    });
+            traceId.remove();
+            // Оба элемента доставляются одним дренажом, но каждый — под своим контекстом
+            scheduler.triggerActions();
+            assertEquals(Arrays.asList("a@trace-1", "b@trace-2", "C@trace-2"), seen);
+            assertEquals(3, Tracing.dumpSpans().stream()
+                    .filter(span -> span.stage().equals("observeOn(TestScheduler)"))
+                    .count());
+        } finally {
+            traceId.remove();
+            Tracing.disableSpans();
+            Tracing.unregister(propagator);
+        }
+    }
+
+    @Test
+    public void testSchedulerFromExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "custom-executor"));
+        try {
+            TestObserver<String> observer = new TestObserver<>();
+            Observable.just("a", "b")
+                    .observeOn(Scheduler.from(executor))
+                    .subscribe(observer);
+            observer.awaitDone(5, TimeUnit.SECONDS).assertValues("a", "b").assertComplete();
+            assertEquals("custom-executor", observer.lastThread().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealingAffinityKeepsStagesOnOneWorkerWhenIdle() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(4, true);
+        try {
+            int count = 100;
+            Thread[] firstStage = new Thread[count];
+            Thread[] secondStage = new Thread[count];
+            // Логические часы: момент обработки элемента на каждой стадии
+            AtomicInteger clock = new AtomicInteger();
+            int[] firstStageAt = new int[count];
+            int[] secondStageAt = new int[count];
+            AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+            Semaphore delivered = new Semaphore(0);
+            TestObserver<Integer> observer = new TestObserver<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    super.onNext(item);
+                    delivered.release();
+                }
+            };
+            Observable.<Integer>create(emitter::set)
+                    .observeOn(scheduler)
+                    .map(i -> {
+                        firstStage[i] = Thread.currentThread();
+                        firstStageAt[i] = clock.incrementAndGet();
+                        return i;
+                    })
+                    .observeOn(scheduler)
+                    .map(i -> {
+                        secondStage[i] = Thread.currentThread();
+                        secondStageAt[i] = clock.incrementAndGet();
+                        return i;
+                    })
+                    .subscribe(observer);
+            // Элементы по одному: очередь первой стадии не накапливается, воркеры простаивают
+            for (int i = 0; i < count; i++) {
+                emitter.get().onNext(i);
+                assertTrue(delivered.tryAcquire(5, TimeUnit.SECONDS));
+            }
+            emitter.get().onComplete();
+            observer.awaitDone(5, TimeUnit.SECONDS).assertNoErrors().assertComplete().assertValueCount(count);
+            for (int i = 0; i < count; i++) {
+                // Обе стадии элемента обработаны одним воркером, вторая — сразу после первой
+                assertSame(firstStage[i], secondStage[i]);
+                assertEquals(firstStageAt[i] + 1, secondStageAt[i]);
+            }
+            assertTrue(observer.lastThread().getName().startsWith("RxWorkStealingPool-"));
+        } finally {
+            scheduler.pool().shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealingHandsOffStagesUnderBacklog() {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(4, true);
+        try {
+            int count = 200;
+            Thread[] firstStage = new Thread[count];
+            Thread[] secondStage = new Thread[count];
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            TestObserver<Integer> observer = new TestObserver<>();
+            // range заполняет очередь первой стадии сразу — у неё всё время есть backlog
+            Observable.range(0, count)
+                    .observeOn(scheduler)
+                    .map(i -> {
+                        firstStage[i] = Thread.currentThread();
+                        slowStage(running, maxRunning);
+                        return i;
+                    })
+                    .observeOn(scheduler)
+                    .map(i -> {
+                        secondStage[i] = Thread.currentThread();
+                        slowStage(running, maxRunning);
+                        return i;
+                    })
+                    .subscribe(observer);
+            observer.awaitDone(10, TimeUnit.SECONDS).assertNoErrors().assertComplete().assertValueCount(count);
+            List<Integer> values = observer.values();
+            boolean handedOff = false;
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, values.get(i).intValue());
+                handedOff |= firstStage[i] != secondStage[i];
+            }
+            // Вторую стадию забрал другой воркер, и стадии работали одновременно
+            assertTrue(handedOff);
+            assertTrue(maxRunning.get() >= 2);
+        } finally {
+            scheduler.pool().shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealingAffinityRunsStageOutsideCallerLock() {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(2, true);
+        try {
+            Object lock = new Object();
+            AtomicReference<Thread> emitting = new AtomicReference<>();
+            AtomicReference<Boolean> heldLock = new AtomicReference<>();
+            TestObserver<Integer> observer = new TestObserver<>();
+            Observable.<Integer>create(emitter -> scheduler.execute(() -> {
+                emitting.set(Thread.currentThread());
+                synchronized (lock) {
+                    emitter.onNext(1);
+                    emitter.onComplete();
+                }
+            }))
+                    .observeOn(scheduler)
+                    .map(i -> {
+                        heldLock.set(Thread.holdsLock(lock));
+                        return i;
+                    })
+                    .subscribe(observer);
+            observer.awaitDone(5, TimeUnit.SECONDS).assertValues(1).assertComplete();
+            // Стадия осталась на том же воркере, но выполнилась уже после выхода из synchronized
+            assertSame(emitting.get(), observer.lastThread());
+            assertFalse(heldLock.get());
+        } finally {
+            scheduler.pool().shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealingReportsTaskExceptions() throws InterruptedException {
+        AtomicReference<Throwable> reported = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        ForkJoinPool pool = new ForkJoinPool(2, ForkJoinPool.defaultForkJoinWorkerThreadFactory, (thread, t) -> {
+            reported.set(t);
+            latch.countDown();
+        }, true);
+        try {
+            Scheduler scheduler = Scheduler.from(pool, true);
+            // Вложенная задача планируется из воркера пула и выполняется по пути affinity
+            scheduler.execute(() -> scheduler.execute(() -> {
+                throw new IllegalStateException("boom");
+            }));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("boom", reported.get().getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testObserveOnRoutesObserverFailureToOnError() {
+        AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+        TestScheduler scheduler = new TestScheduler();
+        TestObserver<Integer> observer = new TestObserver<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 1) {
+                    throw new IllegalStateException("observer failed");
+                }
+            }
+        };
+        Observable.<Integer>create(emitter::set)
+                .observeOn(scheduler)
+                .subscribe(observer);
+        emitter.get().onNext(1);
+        emitter.get().onNext(2);
+        scheduler.triggerActions();
+
+        observer.assertValues(1).assertError(IllegalStateException.class);
+        assertTrue(emitter.get().isDisposed());
+        // Дренаж не "завис": новые события не планируют его заново и не доходят до подписчика
+        emitter.get().onNext(3);
+        emitter.get().onComplete();
+        scheduler.triggerActions();
+        observer.assertValues(1).assertTerminated();
+    }
+
+    @Test
+    public void testObserveOnRoutesSerializerFailureToOnError() {
+        Serializer<Integer> failing = new Serializer<Integer>() {
+            @Override
+            public byte[] serialize(Integer item) {
+                return ByteBuffer.allocate(4).putInt(item).array();
+            }
+            @Override
+            public Integer deserialize(byte[] data) {
+                throw new IllegalArgumentException("corrupt");
+            }
+        };
+        TestScheduler scheduler = new TestScheduler();
+        TestObserver<Integer> observer = new TestObserver<>();
+        Observable.range(0, 5)
+                .observeOn(scheduler, 2, failing)
+                .subscribe(observer);
+        scheduler.triggerActions();
+        observer.assertValues(0, 1).assertError(IllegalArgumentException.class);
+
+        Serializer<Integer> unserializable = new Serializer<Integer>() {
+            @Override
+            public byte[] serialize(Integer item) {
+                throw new IllegalArgumentException("unserializable");
+            }
+            @Override
+            public Integer deserialize(byte[] data) {
+                return 0;
+            }
+        };
+        AtomicReference<Observable.Emitter<Integer>> emitter = new AtomicReference<>();
+        TestObserver<Integer> second = new TestObserver<>();
+        Observable.<Integer>create(emitter::set)
+                .observeOn(scheduler, 1, unserializable)
+                .subscribe(second);
+        emitter.get().onNext(0);
+        emitter.get().onNext(1);
+        assertTrue(emitter.get().isDisposed());
+        scheduler.triggerActions();
+        second.assertValues(0).assertError(IllegalArgumentException.class);
+    }
+
+    /**
+     * Имитирует медленную стадию и отмечает, сколько стадий выполняется одновременно.
+     */
+    private static void slowStage(AtomicInteger running, AtomicInteger maxRunning) {
+        int now = running.incrementAndGet();
+        maxRunning.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private static ContextPropagator threadLocalPropagator(ThreadLocal<String> traceId) {
+        return new ContextPropagator() {
+            @Override
+            public Object capture() { return traceId.get(); }
+            @Override
+            public Object restore(Object context) {
+                String previous = traceId.get();
+                traceId.set((String) context);
+                return previous;
+            }
+            @Override
+            public void reset(Object previous) { traceId.set((String) previous); }
+        };
+    }
+
+    private static <T> String collect(Observable<T> source) {
+        StringBuilder result = new StringBuilder();
+        source.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) { result.append(item).append(','); }
+            @Override
+            public void onError(Throwable t) { result.append("E:").append(t.getMessage()); }
+            @Override
+            public void onComplete() { result.append('C'); }
+        });
+        return result.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package schedulers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyExecutorTest {
+    @Test
+    public void testExecutorIsCreatedOnFirstUseOnly() {
+        AtomicInteger created = new AtomicInteger();
+        LazyExecutor lazy = new LazyExecutor(() -> {
+            created.incrementAndGet();
+            return Executors.newSingleThreadExecutor(new RxThreadFactory("LazyExecutorTest-"));
+        });
+        assertFalse(lazy.isCreated());
+        assertEquals(0, created.get());
+
+        ExecutorService executor = lazy.get();
+        try {
+            assertTrue(lazy.isCreated());
+            assertSame(executor, lazy.get());
+            assertEquals(1, created.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package schedulers;
+
+import core.Serializer;
+import org.junit.jupiter.api.Test;
+import tracing.ContextPropagator;
+import tracing.TraceContext;
+import tracing.Tracing;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpillQueueTest {
+    // Сегмент на 4 записи по 1 КБ
+    private static final int SEGMENT_SIZE = 4 * (SpillQueue.RECORD_HEADER + 1024);
+
+    private static final Serializer<Integer> KILOBYTE = new Serializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer item) {
+            return ByteBuffer.allocate(1024).putInt(item).array();
+        }
+        @Override
+        public Integer deserialize(byte[] data) {
+            return ByteBuffer.wrap(data).getInt();
+        }
+    };
+
+    @Test
+    public void testSustainedStallKeepsOnlyBacklogOnDisk() throws Exception {
+        SpillQueue<Integer> queue = new SpillQueue<>(0, KILOBYTE, SEGMENT_SIZE);
+        // Backlog из одного элемента, 100 000 элементов по 1 КБ через диск
+        for (int i = 0; i < 100_000; i++) {
+            queue.offer(i);
+            assertEquals(i, queue.poll().intValue());
+            assertTrue(queue.segmentCount() <= 1);
+        }
+        queue.close();
+        assertEquals(0, queue.segmentCount());
+    }
+
+    @Test
+    public void testReadSegmentsAreDeletedInOrder() throws Exception {
+        SpillQueue<Integer> queue = new SpillQueue<>(2, KILOBYTE, SEGMENT_SIZE);
+        for (int i = 0; i < 42; i++) {
+            queue.offer(i);
+        }
+        // 2 элемента в памяти, 40 на диске — 10 сегментов
+        assertEquals(10, queue.segmentCount());
+        for (int i = 0; i < 22; i++) {
+            assertEquals(i, queue.poll().intValue());
+        }
+        assertEquals(5, queue.segmentCount());
+        for (int i = 22; i < 42; i++) {
+            assertEquals(i, queue.poll().intValue());
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(1, queue.segmentCount());
+
+        queue.close();
+        queue.offer(42);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.segmentCount());
+    }
+
+    @Test
+    public void testSpilledItemsKeepOnlySpanTiming() throws Exception {
+        ContextPropagator propagator = new ContextPropagator() {
+            @Override
+            public Object capture() { return "ctx"; }
+            @Override
+            public Object restore(Object context) { return null; }
+            @Override
+            public void reset(Object previous) { }
+        };
+        Tracing.register(propagator);
+        Tracing.enableSpans(16);
+        try {
+            SpillQueue<Integer> queue = new SpillQueue<>(1, KILOBYTE, SEGMENT_SIZE);
+            TraceContext inMemory = Tracing.capture();
+            TraceContext onDisk = Tracing.capture();
+            queue.offer(0, inMemory);
+            queue.offer(1, onDisk);
+            queue.offer(2, null);
+
+            assertEquals(0, queue.poll().intValue());
+            assertSame(inMemory, queue.polledContext());
+            // С диска возвращается новый снимок только для Span с исходным моментом постановки
+            assertEquals(1, queue.poll().intValue());
+            TraceContext restored = queue.polledContext();
+            assertNotNull(restored);
+            assertNotSame(onDisk, restored);
+            assertTrue(restored.recordsSpan());
+            assertEquals(onDisk.capturedNanos(), restored.capturedNanos());
+            assertEquals(2, queue.poll().intValue());
+            assertNull(queue.polledContext());
+            queue.close();
+        } finally {
+            Tracing.disableSpans();
+            Tracing.unregister(propagator);
+        }
+    }
+}